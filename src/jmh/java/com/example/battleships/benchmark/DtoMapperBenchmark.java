@@ -0,0 +1,95 @@
+package com.example.battleships.benchmark;
+
+import com.example.battleships.dto.CoordinatesDto;
+import com.example.battleships.dto.GameDto;
+import com.example.battleships.dto.ShipsDto;
+import com.example.battleships.entity.Coordinates;
+import com.example.battleships.entity.Game;
+import com.example.battleships.entity.Ship;
+import com.example.battleships.mapper.DtoMapper;
+import com.example.battleships.mapper.DtoMapperImpl;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.TypeToken;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the generated DtoMapper with the ModelMapper setup the controllers used before, per request body
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMapperBenchmark {
+
+    private static final Type SHIPS_TYPE = new TypeToken<Set<Ship>>() {}.getType();
+
+    private final DtoMapper dtoMapper = new DtoMapperImpl();
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    private GameDto gameDto;
+
+    private ShipsDto shipsDto;
+
+    private CoordinatesDto coordinatesDto;
+
+
+    @Setup
+    public void setUp() throws IOException {
+        modelMapper.getConfiguration().setSkipNullEnabled(true);
+        // Coordinates are immutable, so ModelMapper could only hand out Coordinates(0, 0) without going through of()
+        modelMapper.createTypeMap(CoordinatesDto.class, Coordinates.class)
+                .setConverter(context -> Coordinates.of(context.getSource().getX(), context.getSource().getY()));
+
+        final ObjectMapper objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        gameDto        = objectMapper.readValue("{\"difficulty\": \"HARD\"}", GameDto.class);
+        shipsDto       = objectMapper.readValue("{\"ships\": " + objectMapper.writeValueAsString(InMemoryServices.fixedFleet()) + "}", ShipsDto.class);
+        coordinatesDto = objectMapper.readValue("{\"x\": 4, \"y\": 7}", CoordinatesDto.class);
+    }
+
+
+    @Benchmark
+    public Game gameWithDtoMapper() {
+        return dtoMapper.toGame(gameDto);
+    }
+
+
+    @Benchmark
+    public Game gameWithModelMapper() {
+        return modelMapper.map(gameDto, Game.class);
+    }
+
+
+    @Benchmark
+    public Set<Ship> shipsWithDtoMapper() {
+        return dtoMapper.toShips(shipsDto);
+    }
+
+
+    @Benchmark
+    public Set<Ship> shipsWithModelMapper() {
+        return modelMapper.map(shipsDto.getShips(), SHIPS_TYPE);
+    }
+
+
+    @Benchmark
+    public Coordinates coordinatesWithDtoMapper() {
+        return dtoMapper.toCoordinates(coordinatesDto);
+    }
+
+
+    @Benchmark
+    public Coordinates coordinatesWithModelMapper() {
+        return modelMapper.map(coordinatesDto, Coordinates.class);
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.example.battleships.benchmark;
+
+import com.example.battleships.dto.ShotResultDto;
+import com.example.battleships.entity.Coordinates;
+import com.example.battleships.entity.Game;
+import com.example.battleships.enumeration.Difficulty;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays through GameService and the GameCache exactly like the controller does
+ * Only the database is replaced by in-memory repositories, so the numbers exclude JPA and JDBC
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameServiceBenchmark {
+
+    @Param({"MEDIUM", "STRATEGIST"})
+    public Difficulty difficulty;
+
+    private InMemoryServices services;
+
+    private Long gameId;
+
+    private int nextCell;
+
+
+    /**
+     * Placing the ships draws both fields to the console - keep it from flooding the benchmark output
+     */
+
+    @Setup(Level.Trial)
+    public void silenceConsole() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+
+    @Setup(Level.Iteration)
+    public void setUpServices() {
+        services = new InMemoryServices();
+    }
+
+
+    /**
+     * A fresh game with placed ships for every single shot benchmark, otherwise the game would be won after 100 shots
+     */
+
+    @Setup(Level.Invocation)
+    public void setUpGame() {
+        gameId   = createGame();
+        nextCell = 0;
+    }
+
+
+    /**
+     * The first shot of a game including the turns of the KI following a miss
+     */
+
+    @Benchmark
+    public ShotResultDto shoot() {
+        return services.gameService.shoot(gameId, Coordinates.of(1, 1));
+    }
+
+
+    /**
+     * A whole game from creating it over placing the ships up to the last shot
+     * The human player shoots row by row, the pending writes are flushed at the end like the scheduler would
+     */
+
+    @Benchmark
+    public ShotResultDto playGame() {
+        final Long ID = createGame();
+
+        ShotResultDto shotResult = null;
+        while (shotResult == null || shotResult.getWinner() == null) {
+            final Coordinates coordinates = Coordinates.of(nextCell % 10 + 1, nextCell / 10 + 1);
+            nextCell++;
+
+            final ShotResultDto result = services.gameService.shoot(ID, coordinates);
+            if (result != null)
+                shotResult = result;
+        }
+        services.gameCache.flush();
+        return shotResult;
+    }
+
+
+    private Long createGame() {
+        final Game game = new Game();
+        game.setDifficulty(difficulty);
+
+        final Long ID = services.gameService.createGame(game).getId();
+        services.gameService.placeShips(ID, InMemoryServices.fixedFleet());
+        return ID;
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.example.battleships.benchmark;
+
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Keeps the entities in a map instead of a database so the services can be benchmarked without JPA
+ * Saving assigns ids like an identity column would
+ */
+abstract class InMemoryCrudRepository<T> implements CrudRepository<T, Long> {
+
+    protected final Map<Long, T> entities = new ConcurrentHashMap<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Function<T, Long> idGetter;
+
+
+    InMemoryCrudRepository(Function<T, Long> idGetter) {
+        this.idGetter = idGetter;
+    }
+
+
+    /**
+     * Assigns an id to the entity and all of its new children
+     *
+     * @param entity - The entity which is saved
+     */
+
+    protected abstract void assignIds(T entity);
+
+
+    protected Long nextId() {
+        return sequence.incrementAndGet();
+    }
+
+
+    @Override
+    public <S extends T> S save(S entity) {
+        assignIds(entity);
+        entities.put(idGetter.apply(entity), entity);
+        return entity;
+    }
+
+
+    @Override
+    public <S extends T> Iterable<S> saveAll(Iterable<S> entities) {
+        final List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+
+    @Override
+    public Optional<T> findById(Long id) {
+        return Optional.ofNullable(entities.get(id));
+    }
+
+
+    @Override
+    public boolean existsById(Long id) {
+        return entities.containsKey(id);
+    }
+
+
+    @Override
+    public Iterable<T> findAll() {
+        return new ArrayList<>(entities.values());
+    }
+
+
+    @Override
+    public Iterable<T> findAllById(Iterable<Long> ids) {
+        final List<T> found = new ArrayList<>();
+        ids.forEach(id -> findById(id).ifPresent(found::add));
+        return found;
+    }
+
+
+    @Override
+    public long count() {
+        return entities.size();
+    }
+
+
+    @Override
+    public void deleteById(Long id) {
+        entities.remove(id);
+    }
+
+
+    @Override
+    public void delete(T entity) {
+        entities.remove(idGetter.apply(entity));
+    }
+
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        ids.forEach(entities::remove);
+    }
+
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        entities.forEach(this::delete);
+    }
+
+
+    @Override
+    public void deleteAll() {
+        entities.clear();
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.example.battleships.benchmark;
+
+import com.example.battleships.dto.GameSummaryDto;
+import com.example.battleships.entity.Field;
+import com.example.battleships.entity.Game;
+import com.example.battleships.entity.Ship;
+import com.example.battleships.entity.Turn;
+import com.example.battleships.enumeration.Difficulty;
+import com.example.battleships.enumeration.Player;
+import com.example.battleships.repository.GameRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+final class InMemoryGameRepository extends InMemoryCrudRepository<Game> implements GameRepository {
+
+    InMemoryGameRepository() {
+        super(Game::getId);
+    }
+
+
+    @Override
+    protected void assignIds(Game game) {
+        if (game.getId() == null)
+            game.setId(nextId());
+        if (game.getVersion() == null)
+            game.setVersion(0L);
+
+        assignIds(game.getFieldPlayerOne());
+        assignIds(game.getFieldPlayerTwo());
+
+        for (Turn turn : game.getTurns()) {
+            if (turn.getId() == null)
+                turn.setId(nextId());
+        }
+    }
+
+
+    private void assignIds(Field field) {
+        if (field.getId() == null)
+            field.setId(nextId());
+
+        for (Ship ship : field.getShips()) {
+            if (ship.getId() == null)
+                ship.setId(nextId());
+        }
+    }
+
+
+    @Override
+    public Optional<Game> findWithTurnsById(Long id) {
+        return findById(id);
+    }
+
+
+    @Override
+    public List<Long> findFinishedIds(Long after, Pageable pageable) {
+        return entities.values().stream()
+                .filter(game -> game.getWinner() != null && game.getId() > after)
+                .map(Game::getId)
+                .sorted()
+                .limit(pageable.getPageSize())
+                .toList();
+    }
+
+
+    @Override
+    public void updateWinner(Long id, Player winner) {
+        findById(id).ifPresent(game -> game.setWinner(winner));
+    }
+
+
+    @Override
+    public int incrementVersion(Long id, Long version, Integer turnCount) {
+        final Game game = entities.get(id);
+
+        // the cached instance is the stored instance - its version is raised by the cache after the write
+        return game != null && game.getVersion().equals(version) ? 1 : 0;
+    }
+
+
+    @Override
+    public byte[] findEncodedById(Long id) {
+        return findById(id).map(Game::getEncoded).orElse(null);
+    }
+
+
+    @Override
+    public void updateEncoded(Long id, byte[] encoded) {
+        findById(id).ifPresent(game -> game.setEncoded(encoded));
+    }
+
+
+    @Override
+    public Page<GameSummaryDto> findSummaries(Difficulty difficulty, Player winner, Boolean inProgress, Pageable pageable) {
+        final List<GameSummaryDto> summaries = entities.values().stream()
+                .filter(game -> difficulty == null || game.getDifficulty().equals(difficulty))
+                .filter(game -> winner == null || Objects.equals(game.getWinner(), winner))
+                .filter(game -> inProgress == null || inProgress == (game.getWinner() == null))
+                .sorted(Comparator.comparing(Game::getId))
+                .map(game -> new GameSummaryDto(game.getId(), game.getDifficulty(), game.getWinner(), game.getTurns().size()))
+                .toList();
+
+        final int from = (int) Math.min(pageable.getOffset(), summaries.size());
+        final int to   = Math.min(from + pageable.getPageSize(), summaries.size());
+        return new PageImpl<>(summaries.subList(from, to), pageable, summaries.size());
+    }
+
+
+    @Override
+    public Stream<Game> streamAll() {
+        return entities.values().stream().sorted(Comparator.comparing(Game::getId));
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.example.battleships.benchmark;
+
+import com.example.battleships.archive.GameArchive;
+import com.example.battleships.cache.GameCache;
+import com.example.battleships.cache.GameLocks;
+import com.example.battleships.entity.Coordinates;
+import com.example.battleships.entity.Ship;
+import com.example.battleships.enumeration.Orientation;
+import com.example.battleships.enumeration.ShipType;
+import com.example.battleships.event.GameEventPublisher;
+import com.example.battleships.metrics.GameMetrics;
+import com.example.battleships.repository.JpaGameStore;
+import com.example.battleships.service.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+
+/**
+ * Wires the services the same way Spring does, but on top of in-memory repositories
+ * The fleet pool is disabled so every benchmark measures the actual placement of the KI fleet
+ */
+final class InMemoryServices {
+
+    final InMemoryGameRepository gameRepository = new InMemoryGameRepository();
+    final InMemoryTurnRepository turnRepository = new InMemoryTurnRepository();
+    final InMemoryShipRepository shipRepository = new InMemoryShipRepository();
+
+    // the stream of the export is the only part which needs an entity manager
+    final JpaGameStore gameStore = new JpaGameStore(gameRepository, turnRepository, shipRepository, null);
+
+    final ShipService shipService             = new ShipService();
+    final ValidationService validationService = new ValidationService();
+    final ShotIndexService shotIndexService   = new ShotIndexService();
+    final GameMetrics gameMetrics             = GameMetrics.noop();
+    final KIService kiService                 = new KIService(shotIndexService, gameMetrics);
+
+    final GameCache gameCache;
+    final FleetPoolService fleetPoolService;
+    final GameService gameService;
+
+
+    InMemoryServices() {
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(new NoTransactionManager());
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final GameLocks gameLocks = new GameLocks(1024);
+
+        gameCache        = new GameCache(gameStore, new GameArchive("", 0), gameLocks, transactionTemplate, 10_000, Long.MAX_VALUE, true, meterRegistry);
+        fleetPoolService = new FleetPoolService(kiService, validationService, meterRegistry, 0);
+        gameService      = new GameService(gameRepository, gameStore, new GameArchive("", 0), transactionTemplate, gameCache, gameLocks, validationService, fleetPoolService, shotIndexService, new TurnService(shotIndexService, kiService, gameMetrics), new GameEventPublisher(new ObjectMapper(), 256), gameMetrics);
+    }
+
+
+    /**
+     * @return A valid fleet which always lies at the same spot, like a human player would send it
+     */
+
+    static Set<Ship> fixedFleet() {
+        return Set.of(
+                new Ship(null, Orientation.HORIZONTAL, ShipType.AIRCRAFT_CARRIER, Coordinates.of(1, 1), false),
+                new Ship(null, Orientation.HORIZONTAL, ShipType.BATTLESHIP, Coordinates.of(1, 3), false),
+                new Ship(null, Orientation.HORIZONTAL, ShipType.BATTLESHIP, Coordinates.of(6, 3), false),
+                new Ship(null, Orientation.HORIZONTAL, ShipType.DESTROYER, Coordinates.of(1, 5), false),
+                new Ship(null, Orientation.HORIZONTAL, ShipType.DESTROYER, Coordinates.of(5, 5), false),
+                new Ship(null, Orientation.HORIZONTAL, ShipType.DESTROYER, Coordinates.of(1, 7), false),
+                new Ship(null, Orientation.HORIZONTAL, ShipType.SUBMARINE, Coordinates.of(5, 7), false),
+                new Ship(null, Orientation.HORIZONTAL, ShipType.SUBMARINE, Coordinates.of(8, 7), false),
+                new Ship(null, Orientation.HORIZONTAL, ShipType.SUBMARINE, Coordinates.of(1, 9), false),
+                new Ship(null, Orientation.HORIZONTAL, ShipType.SUBMARINE, Coordinates.of(4, 9), false)
+        );
+    }
+
+
+    /**
+     * Transactions are meaningless for the in-memory repositories - the callbacks just run
+     */
+
+    private static final class NoTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.example.battleships.benchmark;
+
+import com.example.battleships.entity.Ship;
+import com.example.battleships.repository.ShipRepository;
+
+import java.util.Collection;
+
+final class InMemoryShipRepository extends InMemoryCrudRepository<Ship> implements ShipRepository {
+
+    InMemoryShipRepository() {
+        super(Ship::getId);
+    }
+
+
+    @Override
+    protected void assignIds(Ship ship) {
+        if (ship.getId() == null)
+            ship.setId(nextId());
+    }
+
+
+    @Override
+    public void markAsDestroyed(Collection<Long> ids) {
+        ids.forEach(id -> findById(id).ifPresent(ship -> ship.setIsDestroyed(true)));
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.example.battleships.benchmark;
+
+import com.example.battleships.entity.Turn;
+import com.example.battleships.repository.TurnRepository;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Comparator;
+import java.util.List;
+
+final class InMemoryTurnRepository extends InMemoryCrudRepository<Turn> implements TurnRepository {
+
+    InMemoryTurnRepository() {
+        super(Turn::getId);
+    }
+
+
+    @Override
+    protected void assignIds(Turn turn) {
+        if (turn.getId() == null)
+            turn.setId(nextId());
+    }
+
+
+    @Override
+    public List<Turn> findByGameIdAndTurnGreaterThanOrderByTurnAsc(Long gameId, Integer turn, Pageable pageable) {
+        return entities.values().stream()
+                .filter(candidate -> candidate.getGame().getId().equals(gameId) && candidate.getTurn() > turn)
+                .sorted(Comparator.comparing(Turn::getTurn))
+                .limit(pageable.getPageSize())
+                .toList();
+    }
+
+
+    @Override
+    public void deleteByGameId(Long gameId) {
+        entities.values().removeIf(turn -> turn.getGame().getId().equals(gameId));
+    }
+
+}
@@ -0,0 +1,219 @@
+package com.example.battleships.benchmark;
+
+import com.example.battleships.Battleships;
+import com.example.battleships.dto.ShotResultDto;
+import com.example.battleships.entity.Coordinates;
+import com.example.battleships.entity.Game;
+import com.example.battleships.enumeration.Difficulty;
+import com.example.battleships.service.GameService;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Plays whole games through the GameService of a Spring context on an in-memory H2 database and counts the JDBC round trips of every request
+ * A round trip is every execute of a statement and every executeBatch, no matter how many rows the batch contains
+ * Each batch size gets its own context - a batch size of 1 turns batching off, which is what the identity columns used to force
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.example.battleships.benchmark.JdbcRoundTripBenchmark -Dbenchmark.args="--games=200 --batch-sizes=1,50"
+ */
+public final class JdbcRoundTripBenchmark {
+
+    private static final AtomicLong roundTrips = new AtomicLong();
+
+    private final GameService gameService;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private long creates, createRoundTrips;
+    private long placements, placementRoundTrips;
+    private long shots, shotRoundTrips;
+
+
+    private JdbcRoundTripBenchmark(ConfigurableApplicationContext context) {
+        this.gameService          = context.getBean(GameService.class);
+        this.entityManagerFactory = context.getBean(EntityManagerFactory.class);
+    }
+
+
+    public static void main(String[] args) {
+        int games = 200;
+        String[] batchSizes = {"1", "50"};
+
+        for (String arg : args) {
+            final String[] option = arg.split("=", 2);
+            switch (option[0]) {
+                case "--games"       -> games = Integer.parseInt(option[1]);
+                case "--batch-sizes" -> batchSizes = option[1].split(",");
+                default              -> throw new IllegalArgumentException("Unknown option " + option[0]);
+            }
+        }
+
+        final PrintStream out = System.out;
+
+        for (String batchSize : batchSizes) {
+            try (ConfigurableApplicationContext context = start(batchSize.trim())) {
+                final JdbcRoundTripBenchmark warmUp   = new JdbcRoundTripBenchmark(context);
+                final JdbcRoundTripBenchmark measured = new JdbcRoundTripBenchmark(context);
+
+                // placing the ships draws both fields to the console
+                System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+                final double SECONDS;
+                try {
+                    // the first games warm up the JIT and fill the id pools of the sequences
+                    warmUp.run(Math.min(games, 20));
+
+                    final long START = System.nanoTime();
+                    measured.run(games);
+                    SECONDS = (System.nanoTime() - START) / 1e9;
+                } finally {
+                    System.setOut(out);
+                }
+                measured.print(out, batchSize.trim(), games, SECONDS);
+            }
+        }
+    }
+
+
+    private static ConfigurableApplicationContext start(String batchSize) {
+        return new SpringApplicationBuilder(Battleships.class)
+                .web(WebApplicationType.NONE)
+                .initializers(context -> context.getBeanFactory().addBeanPostProcessor(new CountingDataSourcePostProcessor()))
+                // arguments, since default properties would be overridden by application.properties
+                .run(
+                        "--spring.profiles.active=benchmark",
+                        "--spring.datasource.url=jdbc:h2:mem:round-trips-" + batchSize + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database=h2",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "--battleship.eigene-property=benchmark",
+                        "--battleship.persistence.backend=jpa",
+                        // every shot is written before it is answered, otherwise the writes would not belong to a request
+                        "--battleship.cache.write-behind=false",
+                        "--battleship.fleet-pool.size=0",
+                        "--logging.level.root=WARN"
+                );
+    }
+
+
+    private void run(int games) {
+        for (int game = 0; game < games; game++)
+            play();
+    }
+
+
+    private void play() {
+        final Game GAME = count(() -> {
+            final Game game = new Game();
+            game.setDifficulty(Difficulty.MEDIUM);
+            return gameService.createGame(game);
+        });
+        creates++;
+        createRoundTrips += roundTrips.get();
+
+        count(() -> gameService.placeShips(GAME.getId(), InMemoryServices.fixedFleet()));
+        placements++;
+        placementRoundTrips += roundTrips.get();
+
+        for (int cell = 0; cell < 100; cell++) {
+            final Coordinates COORDINATES = Coordinates.of(cell % 10 + 1, cell / 10 + 1);
+            final ShotResultDto shotResult = count(() -> gameService.shoot(GAME.getId(), COORDINATES));
+            shots++;
+            shotRoundTrips += roundTrips.get();
+
+            if (shotResult != null && shotResult.getWinner() != null)
+                return;
+        }
+    }
+
+
+    /**
+     * Resets the round trips before the request, so they can be read right after it
+     * Like open-in-view does for a web request the request gets its own entity manager
+     */
+
+    private <T> T count(Supplier<T> request) {
+        final EntityManagerHolder entityManagerHolder = new EntityManagerHolder(entityManagerFactory.createEntityManager());
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, entityManagerHolder);
+
+        roundTrips.set(0);
+        try {
+            return request.get();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManagerHolder.getEntityManager().close();
+        }
+    }
+
+
+    private void print(PrintStream out, String batchSize, int games, double seconds) {
+        out.printf("batch size %s - %d games in %.1f s%n", batchSize, games, seconds);
+        out.printf("  create game   %6.2f round trips per request%n", (double) createRoundTrips / creates);
+        out.printf("  place ships   %6.2f round trips per request%n", (double) placementRoundTrips / placements);
+        out.printf("  shoot         %6.2f round trips per request%n", (double) shotRoundTrips / shots);
+    }
+
+
+    /**
+     * Wraps the data source so every statement it hands out counts its executions
+     */
+
+    private static final class CountingDataSourcePostProcessor implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource)
+                return proxy(DataSource.class, dataSource);
+            return bean;
+        }
+
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target) {
+        final InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().startsWith("execute"))
+                roundTrips.incrementAndGet();
+
+            final Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException exception) {
+                throw exception.getCause();
+            }
+
+            // everything which executes statements has to be counted as well
+            if (result instanceof Connection connection)
+                return proxy(Connection.class, connection);
+            if (result instanceof Statement statement)
+                return proxy(statementType(method.getReturnType()), statement);
+            return result;
+        };
+        return (T) Proxy.newProxyInstance(JdbcRoundTripBenchmark.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private static Class<Statement> statementType(Class<?> returnType) {
+        return (Class<Statement>) returnType;
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.example.battleships.benchmark;
+
+import com.example.battleships.config.GameConfig;
+import com.example.battleships.entity.Coordinates;
+import com.example.battleships.entity.Game;
+import com.example.battleships.entity.Rules;
+import com.example.battleships.entity.Ship;
+import com.example.battleships.entity.Turn;
+import com.example.battleships.enumeration.Difficulty;
+import com.example.battleships.enumeration.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KIServiceBenchmark {
+
+    private final InMemoryServices services = new InMemoryServices();
+
+
+    @Benchmark
+    public Set<Ship> placeShips(Board board) {
+        return services.kiService.placeShips(board.rules);
+    }
+
+
+    @Benchmark
+    public Coordinates shoot(RunningGame runningGame) {
+        return services.kiService.shoot(runningGame.game);
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class Board {
+
+        // the classic board with the classic fleet and the largest board with twenty classic fleets
+        @Param({"10", "64"})
+        public int size;
+
+        private Rules rules;
+
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            final int FLEETS = size == GameConfig.WIDTH ? 1 : 20;
+            rules = new Rules(size, size, 4 * FLEETS, 3 * FLEETS, 2 * FLEETS, FLEETS);
+        }
+
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class RunningGame {
+
+        // how many shots the KI has already fired when it has to pick the next one
+        @Param({"0", "30", "60"})
+        public int shotsFired;
+
+        @Param({"MEDIUM", "STRATEGIST"})
+        public Difficulty difficulty;
+
+        private Game game;
+
+
+        /**
+         * Builds a game in which the KI already fired the given amount of shots with its own targeting
+         * The shot index is built once up front, so the benchmark only measures choosing the next shot
+         */
+
+        @Setup(Level.Trial)
+        public void setUp(KIServiceBenchmark benchmark) {
+            final InMemoryServices services = benchmark.services;
+
+            game = new Game();
+            game.setDifficulty(difficulty);
+            game.getFieldPlayerOne().setShips(InMemoryServices.fixedFleet());
+            game.getFieldPlayerTwo().setShips(services.kiService.placeShips(game.getRules()));
+
+            for (int shot = 1; shot <= shotsFired; shot++) {
+                final Coordinates coordinates = services.kiService.shoot(game);
+                final Turn turn = new Turn(null, shot, Player.PLAYER_TWO, coordinates, false, game);
+
+                services.shotIndexService.addTurn(game, turn);
+            }
+        }
+
+    }
+
+}
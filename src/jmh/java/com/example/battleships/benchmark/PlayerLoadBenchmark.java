@@ -0,0 +1,161 @@
+package com.example.battleships.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets many players play against a running server at the same time and reports throughput and latency percentiles
+ * Every player creates a game, places its ships and shoots row by row until the game has a winner
+ *
+ * Start the server once with the platform thread pool and once with battleship.virtual-threads.enabled=true, then run
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.example.battleships.benchmark.PlayerLoadBenchmark -Dbenchmark.args="--url=http://localhost:8080 --players=10000"
+ *
+ * For 10000 players the server has to accept as many connections (server.tomcat.max-connections)
+ */
+public final class PlayerLoadBenchmark {
+
+    private static final String SHIPS = """
+            {"ships": [
+                {"shipType": "AIRCRAFT_CARRIER", "orientation": "HORIZONTAL", "coordinates": {"x": 1, "y": 1}},
+                {"shipType": "BATTLESHIP", "orientation": "HORIZONTAL", "coordinates": {"x": 1, "y": 3}},
+                {"shipType": "BATTLESHIP", "orientation": "HORIZONTAL", "coordinates": {"x": 6, "y": 3}},
+                {"shipType": "DESTROYER", "orientation": "HORIZONTAL", "coordinates": {"x": 1, "y": 5}},
+                {"shipType": "DESTROYER", "orientation": "HORIZONTAL", "coordinates": {"x": 5, "y": 5}},
+                {"shipType": "DESTROYER", "orientation": "HORIZONTAL", "coordinates": {"x": 1, "y": 7}},
+                {"shipType": "SUBMARINE", "orientation": "HORIZONTAL", "coordinates": {"x": 5, "y": 7}},
+                {"shipType": "SUBMARINE", "orientation": "HORIZONTAL", "coordinates": {"x": 8, "y": 7}},
+                {"shipType": "SUBMARINE", "orientation": "HORIZONTAL", "coordinates": {"x": 1, "y": 9}},
+                {"shipType": "SUBMARINE", "orientation": "HORIZONTAL", "coordinates": {"x": 4, "y": 9}}
+            ]}""";
+
+    // create, place ships and at most one shot per cell
+    private static final int MAX_REQUESTS_PER_GAME = 102;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+
+    private final String url;
+
+    private final long[] latencies;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicLong failures = new AtomicLong();
+
+
+    private PlayerLoadBenchmark(String url, int players) {
+        this.url       = url;
+        this.latencies = new long[players * MAX_REQUESTS_PER_GAME];
+    }
+
+
+    public static void main(String[] args) {
+        String url = "http://localhost:8080";
+        int players = 10_000;
+        String difficulty = "MEDIUM";
+
+        for (String arg : args) {
+            final String[] option = arg.split("=", 2);
+            switch (option[0]) {
+                case "--url"        -> url = option[1];
+                case "--players"    -> players = Integer.parseInt(option[1]);
+                case "--difficulty" -> difficulty = option[1];
+                default             -> throw new IllegalArgumentException("Unknown option " + option[0]);
+            }
+        }
+
+        // a few games first, so the server is warmed up before the measured run
+        new PlayerLoadBenchmark(url, Math.min(players, 200)).run(Math.min(players, 200), difficulty, false);
+        new PlayerLoadBenchmark(url, players).run(players, difficulty, true);
+    }
+
+
+    private void run(int players, String difficulty, boolean report) {
+        final long START = System.nanoTime();
+
+        final CompletableFuture<?>[] games = new CompletableFuture<?>[players];
+        for (int player = 0; player < players; player++)
+            games[player] = play(difficulty).exceptionally(exception -> {
+                failures.incrementAndGet();
+                return null;
+            });
+        CompletableFuture.allOf(games).join();
+
+        final double SECONDS = (System.nanoTime() - START) / 1e9;
+        if (!report)
+            return;
+
+        final long[] sorted = Arrays.copyOf(latencies, requests.get());
+        Arrays.sort(sorted);
+
+        System.out.printf("%d players, %d requests in %.1f s, %d failed games%n", players, sorted.length, SECONDS, failures.get());
+        System.out.printf("throughput %.0f requests/s%n", sorted.length / SECONDS);
+        System.out.printf("latency ms p50 %.1f  p90 %.1f  p99 %.1f  max %.1f%n", percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99), percentile(sorted, 100));
+    }
+
+
+    private CompletableFuture<Void> play(String difficulty) {
+        return send("POST", "/game", "{\"difficulty\": \"" + difficulty + "\"}")
+                .thenCompose(game -> {
+                    final long ID = game.get("id").asLong();
+                    return send("PUT", "/game/" + ID + "/placeShips", SHIPS).thenCompose(placed -> shoot(ID, 0));
+                });
+    }
+
+
+    private CompletableFuture<Void> shoot(long id, int cell) {
+        if (cell == 100)
+            return CompletableFuture.completedFuture(null);
+
+        final String COORDINATES = "{\"x\": " + (cell % 10 + 1) + ", \"y\": " + (cell / 10 + 1) + "}";
+
+        return send("PUT", "/game/" + id + "/shoot", COORDINATES).thenCompose(shotResult -> {
+            // null once the game is over
+            if (shotResult == null || shotResult.hasNonNull("winner"))
+                return CompletableFuture.completedFuture(null);
+            return shoot(id, cell + 1);
+        });
+    }
+
+
+    private CompletableFuture<JsonNode> send(String method, String path, String body) {
+        final HttpRequest request = HttpRequest.newBuilder(URI.create(url + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofMinutes(2))
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        final long START = System.nanoTime();
+
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenApply(response -> {
+            latencies[requests.getAndIncrement()] = System.nanoTime() - START;
+
+            if (response.statusCode() >= 400)
+                throw new IllegalStateException(method + " " + path + " answered " + response.statusCode());
+            try {
+                return response.body().isEmpty() ? null : objectMapper.readTree(response.body());
+            } catch (Exception exception) {
+                throw new IllegalStateException(exception);
+            }
+        });
+    }
+
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0)
+            return 0;
+
+        final int INDEX = (int) Math.ceil(sorted.length * percentile / 100) - 1;
+        return sorted[Math.max(INDEX, 0)] / 1e6;
+    }
+
+}
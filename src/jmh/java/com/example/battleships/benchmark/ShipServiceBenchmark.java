@@ -0,0 +1,37 @@
+package com.example.battleships.benchmark;
+
+import com.example.battleships.entity.Coordinates;
+import com.example.battleships.entity.Ship;
+import com.example.battleships.enumeration.Orientation;
+import com.example.battleships.enumeration.ShipType;
+import com.example.battleships.service.ShipService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShipServiceBenchmark {
+
+    private final ShipService shipService = new ShipService();
+
+    private final Ship ship = new Ship(null, Orientation.VERTICAL, ShipType.AIRCRAFT_CARRIER, Coordinates.of(4, 2), false);
+
+
+    @Benchmark
+    public Set<Coordinates> getAllCoordinatesFromShip() {
+        return shipService.getAllCoordinatesFromShip(ship);
+    }
+
+
+    @Benchmark
+    public Set<Coordinates> getClearanceCoordinatesForShip() {
+        return shipService.getClearanceCoordinatesForShip(ship);
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.example.battleships.benchmark;
+
+import com.example.battleships.board.BitBoard;
+import com.example.battleships.board.BoardGeometry;
+import com.example.battleships.dto.FleetValidationDto;
+import com.example.battleships.entity.Rules;
+import com.example.battleships.entity.Ship;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationServiceBenchmark {
+
+    private final InMemoryServices services = new InMemoryServices();
+
+    private final Set<Ship> fleet = InMemoryServices.fixedFleet();
+
+    private final Rules rules = new Rules();
+
+    private final BitBoard occupied = new BitBoard(BoardGeometry.DEFAULT.size());
+
+
+    @Benchmark
+    public FleetValidationDto validateFleet() {
+        return services.validationService.validateFleet(fleet, rules);
+    }
+
+
+    // how the fleet pool validates every fleet it generates - reusing the occupancy board makes the validation allocation free
+    @Benchmark
+    public FleetValidationDto validateFleetWithScratchBoard() {
+        return services.validationService.validateFleet(fleet, rules, occupied);
+    }
+
+}
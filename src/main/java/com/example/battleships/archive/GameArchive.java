@@ -0,0 +1,210 @@
+package com.example.battleships.archive;
+
+import com.example.battleships.codec.GameCodec;
+import com.example.battleships.entity.Game;
+import com.example.battleships.entity.Turn;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Keeps finished games in memory mapped segment files of a local directory
+ * A segment is a sequence of records - the length of the encoded game, the id of the game and the encoded game
+ * A length of 0 marks the end of the written records, the length is only written once the rest of the record is on the disk, so a torn append is never read
+ */
+@Slf4j
+@Component
+public final class GameArchive {
+
+    private static final int RECORD_HEADER_BYTES = Integer.BYTES + Long.BYTES;
+
+    private final Path directory;
+    private final int segmentSize;
+
+    // only the last segment gets appended to, all others are full
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+    private final Map<Long, Location> locations = new ConcurrentHashMap<>();
+
+    private int writePosition;
+
+
+    /**
+     * @param directory   - The directory of the segment files, the archive is disabled if empty
+     * @param segmentSize - The size of a segment file in bytes
+     */
+
+    public GameArchive(
+            @Value("${battleship.archive.directory:}") String directory,
+            @Value("${battleship.archive.segment-size:67108864}") int segmentSize
+    ) {
+        this.directory   = directory.isBlank() ? null : Path.of(directory);
+        this.segmentSize = segmentSize;
+    }
+
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+
+    /**
+     * Maps all existing segments and indexes their records
+     */
+
+    @PostConstruct
+    public synchronized void open() {
+        if (!isEnabled())
+            return;
+
+        try {
+            Files.createDirectories(directory);
+
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.filter(file -> file.getFileName().toString().startsWith("segment-")).sorted().toList())
+                    writePosition = index(map(file));
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Could not open the game archive in " + directory, exception);
+        }
+        log.info("Opened the game archive in {} with {} games in {} segments", directory, locations.size(), segments.size());
+    }
+
+
+    @PreDestroy
+    public synchronized void close() {
+        segments.forEach(MappedByteBuffer::force);
+    }
+
+
+    public boolean contains(Long id) {
+        return locations.containsKey(id);
+    }
+
+
+    /**
+     * Appends the finished game to the last segment, a new segment is started once it is full
+     * The segment is forced to the disk before the game can be read, so it is safe to delete the game from the database afterwards
+     *
+     * @param game - The finished game including its turns
+     */
+
+    public synchronized void append(Game game) {
+        if (!isEnabled())
+            throw new IllegalStateException("The game archive is disabled");
+        if (contains(game.getId()))
+            return;
+
+        final int SIZE = GameCodec.size(game);
+        if (RECORD_HEADER_BYTES + SIZE + Integer.BYTES > segmentSize)
+            throw new IllegalStateException("Game " + game.getId() + " does not fit into a segment of " + segmentSize + " bytes");
+
+        try {
+            // the last segment always keeps room for the terminating length
+            if (segments.isEmpty() || writePosition + RECORD_HEADER_BYTES + SIZE + Integer.BYTES > segmentSize) {
+                map(directory.resolve("segment-%06d".formatted(segments.size())));
+                writePosition = 0;
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Could not create a new segment in " + directory, exception);
+        }
+        final MappedByteBuffer segment = segments.get(segments.size() - 1);
+
+        GameCodec.encode(game, segment.slice(writePosition + RECORD_HEADER_BYTES, SIZE));
+        segment.putLong(writePosition + Integer.BYTES, game.getId());
+
+        // pages are not written back in order - the length must not reach the disk before the record it announces
+        segment.force(writePosition + Integer.BYTES, Long.BYTES + SIZE);
+        segment.putInt(writePosition, SIZE);
+        segment.force(writePosition, Integer.BYTES);
+
+        locations.put(game.getId(), new Location(segment, writePosition + RECORD_HEADER_BYTES, SIZE));
+        writePosition += RECORD_HEADER_BYTES + SIZE;
+    }
+
+
+    /**
+     * Gets the encoded game without copying it out of the segment
+     *
+     * @param id - The id of the game
+     *
+     * @return A read only view of the encoded game or an empty optional if the game is not archived
+     */
+
+    public Optional<ByteBuffer> read(Long id) {
+        final Location location = locations.get(id);
+        return location != null ? Optional.of(location.segment().slice(location.offset(), location.length()).asReadOnlyBuffer()) : Optional.empty();
+    }
+
+
+    public Optional<Game> find(Long id) {
+        return read(id).map(buffer -> GameCodec.decode(id, buffer));
+    }
+
+
+    /**
+     * Decodes only the requested turns of the archived game
+     *
+     * @param id   - The id of the game
+     * @param from - The last turn which should be skipped
+     * @param size - The maximum amount of turns
+     *
+     * @return The following turns or an empty optional if the game is not archived
+     */
+
+    public Optional<List<Turn>> findTurns(Long id, int from, int size) {
+        return read(id).map(buffer -> GameCodec.decodeTurns(null, buffer, from, size));
+    }
+
+
+    private MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // the mapping stays valid after the channel is closed
+            final MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(channel.size(), segmentSize));
+            segments.add(segment);
+            return segment;
+        }
+    }
+
+
+    /**
+     * @return The position after the last record of the segment
+     */
+
+    private int index(MappedByteBuffer segment) {
+        int position = 0;
+
+        while (position + RECORD_HEADER_BYTES <= segment.capacity()) {
+            final int LENGTH = segment.getInt(position);
+            if (LENGTH == 0)
+                break;
+
+            final long ID = segment.getLong(position + Integer.BYTES);
+            locations.put(ID, new Location(segment, position + RECORD_HEADER_BYTES, LENGTH));
+            position += RECORD_HEADER_BYTES + LENGTH;
+        }
+        return position;
+    }
+
+
+    private record Location(MappedByteBuffer segment, int offset, int length) {
+    }
+
+}
@@ -0,0 +1,344 @@
+package com.example.battleships.board;
+
+import java.util.Arrays;
+
+/**
+ * A set of cells of a board - one bit per cell, the cell with the index n is bit n % 64 of word n / 64
+ * Boards of different sizes and windows can be combined as long as they index the cells of the same board size
+ */
+public final class BitBoard {
+
+    // the words from the word with the index offset on - a window leaves out the words in front of and behind its cells
+    private final long[] words;
+    private final int offset;
+
+    /**
+     * Creates an empty bit board which is able to hold the given amount of cells
+     *
+     * @param size - The amount of cells of the board
+     */
+
+    public BitBoard(int size) {
+        this(0, (size + 63) >>> 6);
+    }
+
+
+    private BitBoard(int offset, int length) {
+        this.words  = new long[length];
+        this.offset = offset;
+    }
+
+
+    /**
+     * Copies the set cells into a window which only keeps the words from the first to the last set cell
+     * A window behaves like a board on which all other cells are cleared, combining it with a board only touches the words of the window
+     * The masks of a geometry are windows, so their size does not grow with the board
+     *
+     * @return The window of the set cells
+     */
+
+    public BitBoard window() {
+        int first = 0;
+        while (first < words.length && words[first] == 0)
+            first++;
+
+        int last = words.length - 1;
+        while (last >= first && words[last] == 0)
+            last--;
+
+        final BitBoard window = new BitBoard(offset + first, last - first + 1);
+        System.arraycopy(words, first, window.words, 0, window.words.length);
+        return window;
+    }
+
+
+    /**
+     * @param index - The index of the cell, has to lie within the window of this board
+     */
+
+    public void set(int index) {
+        words[(index >>> 6) - offset] |= 1L << index;
+    }
+
+
+    /**
+     * @param index - The index of the cell, has to lie within the window of this board
+     */
+
+    public void clear(int index) {
+        words[(index >>> 6) - offset] &= ~(1L << index);
+    }
+
+
+    /**
+     * @param index - The index of the cell
+     *
+     * @return True if the cell is set, cells outside of the window are never set
+     */
+
+    public boolean get(int index) {
+        return (word(index >>> 6) & (1L << index)) != 0;
+    }
+
+
+    /**
+     * Clears every cell, the board keeps its size and can be reused
+     */
+
+    public void clear() {
+        Arrays.fill(words, 0L);
+    }
+
+
+    /**
+     * Replaces the cells of this board with the cells of the other board
+     * Cells of the other board outside of the window of this board are left out
+     *
+     * @param other - The board which should be copied
+     */
+
+    public void copyFrom(BitBoard other) {
+        if (offset == other.offset && words.length == other.words.length) {
+            System.arraycopy(other.words, 0, words, 0, words.length);
+            return;
+        }
+        for (int i = 0; i < words.length; i++)
+            words[i] = other.word(offset + i);
+    }
+
+
+    /**
+     * Sets every cell which is set on the other board
+     *
+     * @param other - The board which should be added, this board has to cover the window of the other board
+     */
+
+    public void or(BitBoard other) {
+        for (int i = 0; i < other.words.length; i++)
+            words[other.offset + i - offset] |= other.words[i];
+    }
+
+
+    /**
+     * Clears every cell which is not set on the other board
+     *
+     * @param other - The board which should be kept
+     */
+
+    public void and(BitBoard other) {
+        for (int i = 0; i < words.length; i++)
+            words[i] &= other.word(offset + i);
+    }
+
+
+    /**
+     * Clears every cell which is set on the other board
+     *
+     * @param other - The board which should be removed
+     */
+
+    public void andNot(BitBoard other) {
+        final int FROM = Math.max(offset, other.offset);
+        final int TO   = Math.min(end(), other.end());
+
+        for (int i = FROM; i < TO; i++)
+            words[i - offset] &= ~other.words[i - other.offset];
+    }
+
+
+    /**
+     * Checks if at least one cell is set on both boards
+     *
+     * @param other - The board to compare with
+     *
+     * @return True if the boards share a cell
+     */
+
+    public boolean intersects(BitBoard other) {
+        final int FROM = Math.max(offset, other.offset);
+        final int TO   = Math.min(end(), other.end());
+
+        for (int i = FROM; i < TO; i++) {
+            if ((words[i - offset] & other.words[i - other.offset]) != 0)
+                return true;
+        }
+        return false;
+    }
+
+
+    /**
+     * Checks if every cell of the other board is also set on this board
+     *
+     * @param other - The board which should be contained
+     *
+     * @return True if this board is a superset of the other board
+     */
+
+    public boolean containsAll(BitBoard other) {
+        for (int i = 0; i < other.words.length; i++) {
+            if ((other.words[i] & ~word(other.offset + i)) != 0)
+                return false;
+        }
+        return true;
+    }
+
+
+    /**
+     * Checks if every cell which is set on both of the other boards is also set on this board
+     *
+     * @param first  - The first board of the intersection
+     * @param second - The second board of the intersection
+     *
+     * @return True if this board is a superset of the intersection
+     */
+
+    public boolean containsIntersection(BitBoard first, BitBoard second) {
+        final int FROM = Math.max(first.offset, second.offset);
+        final int TO   = Math.min(first.end(), second.end());
+
+        for (int i = FROM; i < TO; i++) {
+            if ((first.words[i - first.offset] & second.words[i - second.offset] & ~word(i)) != 0)
+                return false;
+        }
+        return true;
+    }
+
+
+    /**
+     * @return True if no cell is set
+     */
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0)
+                return false;
+        }
+        return true;
+    }
+
+
+    /**
+     * @return The amount of set cells
+     */
+
+    public int cardinality() {
+        int count = 0;
+        for (long word : words)
+            count += Long.bitCount(word);
+        return count;
+    }
+
+
+    /**
+     * Counts the cells which are set on this board and on the mask
+     *
+     * @param mask - The cells which should be counted
+     *
+     * @return The amount of shared cells
+     */
+
+    public int cardinalityAnd(BitBoard mask) {
+        final int FROM = Math.max(offset, mask.offset);
+        final int TO   = Math.min(end(), mask.end());
+
+        int count = 0;
+        for (int i = FROM; i < TO; i++)
+            count += Long.bitCount(words[i - offset] & mask.words[i - mask.offset]);
+        return count;
+    }
+
+
+    /**
+     * Counts the cells which are set on this board but not on the mask
+     *
+     * @param mask - The cells which should be ignored
+     *
+     * @return The amount of remaining cells
+     */
+
+    public int cardinalityAndNot(BitBoard mask) {
+        int count = 0;
+        for (int i = 0; i < words.length; i++)
+            count += Long.bitCount(words[i] & ~mask.word(offset + i));
+        return count;
+    }
+
+
+    /**
+     * Finds the n-th (zero based) cell which is set on this board but not on the mask
+     * Together with cardinalityAndNot() this allows picking a random cell without building a collection
+     *
+     * @param mask - The cells which should be ignored
+     * @param n    - The position of the cell among all remaining cells
+     *
+     * @return The index of the cell or -1 if there are not enough remaining cells
+     */
+
+    public int nthSetBitAndNot(BitBoard mask, int n) {
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i] & ~mask.word(offset + i);
+            final int count = Long.bitCount(word);
+
+            if (n >= count) {
+                n -= count;
+                continue;
+            }
+            for (; n > 0; n--)
+                word &= word - 1;
+            return ((offset + i) << 6) + Long.numberOfTrailingZeros(word);
+        }
+        return -1;
+    }
+
+
+    /**
+     * Finds the first set cell starting at the given cell, used to iterate over all set cells
+     *
+     * @param from - The index of the first cell which should be checked
+     *
+     * @return The index of the cell or -1 if there is no set cell left
+     */
+
+    public int nextSetBit(int from) {
+        int i = Math.max(from >>> 6, offset) - offset;
+        if (i >= words.length)
+            return -1;
+
+        long word = from >>> 6 < offset ? words[i] : words[i] & (-1L << from);
+        while (true) {
+            if (word != 0)
+                return ((offset + i) << 6) + Long.numberOfTrailingZeros(word);
+            if (++i == words.length)
+                return -1;
+            word = words[i];
+        }
+    }
+
+
+    /**
+     * @return The word with the given index of the whole board, 0 outside of the window
+     */
+
+    private long word(int index) {
+        final int LOCAL = index - offset;
+        return LOCAL >= 0 && LOCAL < words.length ? words[LOCAL] : 0L;
+    }
+
+
+    private int end() {
+        return offset + words.length;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof BitBoard other && offset == other.offset && Arrays.equals(words, other.words);
+    }
+
+
+    @Override
+    public int hashCode() {
+        return 31 * offset + Arrays.hashCode(words);
+    }
+
+}
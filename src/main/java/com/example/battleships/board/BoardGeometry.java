@@ -0,0 +1,315 @@
+package com.example.battleships.board;
+
+import com.example.battleships.config.GameConfig;
+import com.example.battleships.enumeration.Orientation;
+import com.example.battleships.enumeration.ShipType;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Everything about a board size which does not change while a game is played - the indexes of the cells and the masks of every ship placement
+ * Geometries are immutable and shared between all games played on the same board size
+ */
+public final class BoardGeometry {
+
+    // values() copies the array on every call, the placements are decoded on the hot path of the KI
+    private static final Orientation[] ORIENTATIONS = Orientation.values();
+
+    public static final BoardGeometry DEFAULT = new BoardGeometry(GameConfig.WIDTH, GameConfig.HEIGHT);
+
+    // the geometries of the board sizes played recently - building the geometry of a big board takes a few milliseconds
+    private static final int CACHED_GEOMETRIES = 16;
+
+    // access ordered - the eldest entry is always the least recently used geometry
+    private static final Map<Long, BoardGeometry> geometries = new LinkedHashMap<>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, BoardGeometry> eldest) {
+            return size() > CACHED_GEOMETRIES;
+        }
+
+    };
+
+    private final int width;
+    private final int height;
+
+    private final BitBoard full;
+    private final BitBoard empty;
+
+    private final BitBoard[] footprints;
+    private final BitBoard[] clearances;
+
+    // indexed by ShipType - every placement of the ship type which lies entirely on the board
+    private final int[][] legalPlacements;
+
+
+    /**
+     * Gets the shared geometry of a board size
+     *
+     * @param width  - The width of the board
+     * @param height - The height of the board
+     *
+     * @return The geometry which is built once per board size
+     */
+
+    public static BoardGeometry of(int width, int height) {
+        if (width == DEFAULT.width && height == DEFAULT.height)
+            return DEFAULT;
+
+        synchronized (geometries) {
+            return geometries.computeIfAbsent((long) width << 32 | height, key -> new BoardGeometry(width, height));
+        }
+    }
+
+
+    /**
+     * Precomputes the footprint and clearance masks of every ship type in every orientation on every cell
+     * Cells are indexed row by row starting with (1, 1) at index 0
+     * The masks only keep the words their cells lie in, a mask of a 64x64 board takes a few words instead of 64
+     *
+     * @param width  - The width of the board
+     * @param height - The height of the board
+     */
+
+    public BoardGeometry(int width, int height) {
+        this.width  = width;
+        this.height = height;
+
+        this.full  = new BitBoard(size());
+        this.empty = new BitBoard(0);
+
+        for (int index = 0; index < size(); index++)
+            full.set(index);
+
+        final int placements = ShipType.values().length * ORIENTATIONS.length * size();
+        this.footprints      = new BitBoard[placements];
+        this.clearances      = new BitBoard[placements];
+        this.legalPlacements = new int[ShipType.values().length][];
+
+        final BitBoard scratch = new BitBoard(size());
+
+        for (ShipType shipType : ShipType.values()) {
+            final int[] legal = new int[ORIENTATIONS.length * size()];
+            int legalCount = 0;
+
+            for (Orientation orientation : ORIENTATIONS) {
+                for (int x = 1; x <= width; x++) {
+                    for (int y = 1; y <= height; y++) {
+                        final int placement = placement(shipType, orientation, x, y);
+                        footprints[placement] = computeFootprint(shipType, orientation, x, y, scratch);
+                        clearances[placement] = computeClearance(footprints[placement], scratch);
+
+                        // a ship of length one covers the same cell in both orientations - only list it once
+                        final boolean duplicate = shipType.length == 1 && orientation.ordinal() > 0;
+
+                        if (!duplicate && footprints[placement].cardinality() == shipType.length)
+                            legal[legalCount++] = placement;
+                    }
+                }
+            }
+            legalPlacements[shipType.ordinal()] = Arrays.copyOf(legal, legalCount);
+        }
+    }
+
+
+    public int getWidth() {
+        return width;
+    }
+
+
+    public int getHeight() {
+        return height;
+    }
+
+
+    /**
+     * @return The amount of cells of the board
+     */
+
+    public int size() {
+        return width * height;
+    }
+
+
+    /**
+     * @param x - The x coordinate, starting at 1
+     * @param y - The y coordinate, starting at 1
+     *
+     * @return True if the cell lies on the board
+     */
+
+    public boolean contains(int x, int y) {
+        return x >= 1 && x <= width && y >= 1 && y <= height;
+    }
+
+
+    /**
+     * @param x - The x coordinate of a cell on the board
+     * @param y - The y coordinate of a cell on the board
+     *
+     * @return The index of the cell on a BitBoard
+     */
+
+    public int index(int x, int y) {
+        return (y - 1) * width + (x - 1);
+    }
+
+
+    /**
+     * @param index - The index of a cell on the board
+     *
+     * @return The x coordinate of the cell
+     */
+
+    public int x(int index) {
+        return index % width + 1;
+    }
+
+
+    /**
+     * @param index - The index of a cell on the board
+     *
+     * @return The y coordinate of the cell
+     */
+
+    public int y(int index) {
+        return index / width + 1;
+    }
+
+
+    /**
+     * @return A shared mask with every cell of the board set - must not be modified
+     */
+
+    public BitBoard full() {
+        return full;
+    }
+
+
+    /**
+     * Gets the precomputed cells occupied by a ship
+     * Parts of the ship which stick out of the board are not part of the mask
+     *
+     * @param shipType    - The type of the ship
+     * @param orientation - The orientation of the ship
+     * @param x           - The x coordinate of the bow
+     * @param y           - The y coordinate of the bow
+     *
+     * @return A shared mask which must not be modified, empty if the bow is not on the board
+     */
+
+    public BitBoard footprint(ShipType shipType, Orientation orientation, int x, int y) {
+        return contains(x, y) ? footprints[placement(shipType, orientation, x, y)] : empty;
+    }
+
+
+    /**
+     * Gets the precomputed cells around and below a ship in which no other ship is allowed
+     *
+     * @param shipType    - The type of the ship
+     * @param orientation - The orientation of the ship
+     * @param x           - The x coordinate of the bow
+     * @param y           - The y coordinate of the bow
+     *
+     * @return A shared mask which must not be modified, empty if the bow is not on the board
+     */
+
+    public BitBoard clearance(ShipType shipType, Orientation orientation, int x, int y) {
+        return contains(x, y) ? clearances[placement(shipType, orientation, x, y)] : empty;
+    }
+
+
+    /**
+     * Gets every placement of the ship type which lies entirely on the board
+     * A placement is a number identifying ship type, orientation and bow position at once
+     *
+     * @param shipType - The type of the ship
+     *
+     * @return The shared placements which must not be modified
+     */
+
+    public int[] legalPlacements(ShipType shipType) {
+        return legalPlacements[shipType.ordinal()];
+    }
+
+
+    /**
+     * @param placement - One of the legal placements
+     *
+     * @return The shared mask of the cells occupied by the placement which must not be modified
+     */
+
+    public BitBoard footprint(int placement) {
+        return footprints[placement];
+    }
+
+
+    /**
+     * @param placement - One of the legal placements
+     *
+     * @return The shared mask of the cells around and below the placement which must not be modified
+     */
+
+    public BitBoard clearance(int placement) {
+        return clearances[placement];
+    }
+
+
+    /**
+     * @param placement - One of the legal placements
+     *
+     * @return The orientation of the ship of the placement
+     */
+
+    public Orientation orientation(int placement) {
+        return ORIENTATIONS[placement / size() % ORIENTATIONS.length];
+    }
+
+
+    /**
+     * @param placement - One of the legal placements
+     *
+     * @return The index of the cell of the bow of the placement
+     */
+
+    public int cell(int placement) {
+        return placement % size();
+    }
+
+
+    private int placement(ShipType shipType, Orientation orientation, int x, int y) {
+        return (shipType.ordinal() * ORIENTATIONS.length + orientation.ordinal()) * size() + index(x, y);
+    }
+
+
+    private BitBoard computeFootprint(ShipType shipType, Orientation orientation, int x, int y, BitBoard scratch) {
+        scratch.clear();
+
+        for (int length = 0; length < shipType.length; length++) {
+            final int cellX = orientation.equals(Orientation.HORIZONTAL) ? x + length : x;
+            final int cellY = orientation.equals(Orientation.HORIZONTAL) ? y : y + length;
+
+            if (contains(cellX, cellY))
+                scratch.set(index(cellX, cellY));
+        }
+        return scratch.window();
+    }
+
+
+    private BitBoard computeClearance(BitBoard footprint, BitBoard scratch) {
+        scratch.clear();
+
+        for (int index = footprint.nextSetBit(0); index >= 0; index = footprint.nextSetBit(index + 1)) {
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    if (contains(x(index) + dx, y(index) + dy))
+                        scratch.set(index(x(index) + dx, y(index) + dy));
+                }
+            }
+        }
+        return scratch.window();
+    }
+
+}
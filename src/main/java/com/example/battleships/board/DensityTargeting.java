@@ -0,0 +1,130 @@
+package com.example.battleships.board;
+
+import com.example.battleships.enumeration.ShipType;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+public final class DensityTargeting {
+
+    // every hit a placement covers multiplies its weight by 2^5 - placements through hits dominate the density
+    private static final int HIT_WEIGHT_SHIFT = 5;
+
+    // the clock is only checked every few placements
+    private static final int PLACEMENTS_PER_CLOCK_CHECK = 64;
+
+    private final long timeBudgetNanos;
+
+
+    /**
+     * @param timeBudgetNanos - The time one shot may take, afterwards the density calculated so far is used
+     */
+
+    public DensityTargeting(long timeBudgetNanos) {
+        this.timeBudgetNanos = timeBudgetNanos;
+    }
+
+
+    /**
+     * Chooses the cell to shoot at based on how many placements of the remaining ships cover each cell
+     * Placements are skipped if they overlap blocked cells or touch a hit they do not cover, since ships never touch
+     * Placements which cover hits are weighted much higher so wounded ships get finished first
+     *
+     * @param geometry  - The geometry of the board
+     * @param knowledge - What the shooter knows about the field of the opponent
+     * @param shots     - The cells the shooter has already shot at
+     * @param greedy    - Shoot at the most likely cell instead of sampling proportional to the density
+     *
+     * @return The index of the cell to shoot at
+     */
+
+    public int target(BoardGeometry geometry, TargetKnowledge knowledge, BitBoard shots, boolean greedy) {
+        final long DEADLINE = System.nanoTime() + timeBudgetNanos;
+
+        final BitBoard BLOCKED   = knowledge.getBlocked();
+        final BitBoard OPEN_HITS = knowledge.getOpenHits();
+        final long[] density     = knowledge.getDensity();
+
+        Arrays.fill(density, 0L);
+        int checked = 0;
+
+        accumulate:
+        for (ShipType shipType : ShipType.values()) {
+            final int REMAINING = knowledge.getRemainingShips(shipType);
+            if (REMAINING == 0)
+                continue;
+
+            for (int placement : geometry.legalPlacements(shipType)) {
+                if (++checked % PLACEMENTS_PER_CLOCK_CHECK == 0 && System.nanoTime() > DEADLINE)
+                    break accumulate;
+
+                final BitBoard FOOTPRINT = geometry.footprint(placement);
+
+                if (FOOTPRINT.intersects(BLOCKED))
+                    continue;
+
+                // a hit next to the ship has to be part of the ship
+                if (!FOOTPRINT.containsIntersection(OPEN_HITS, geometry.clearance(placement)))
+                    continue;
+
+                final int COVERED_HITS = FOOTPRINT.cardinalityAnd(OPEN_HITS);
+                final long WEIGHT = (long) REMAINING << (COVERED_HITS * HIT_WEIGHT_SHIFT);
+
+                for (int cell = FOOTPRINT.nextSetBit(0); cell >= 0; cell = FOOTPRINT.nextSetBit(cell + 1)) {
+                    if (!OPEN_HITS.get(cell))
+                        density[cell] += WEIGHT;
+                }
+            }
+        }
+        final int CELL = greedy ? pickMaximum(density, shots) : pickProportional(density, shots);
+
+        // nothing accumulated in time - any cell which was not shot at yet
+        if (CELL < 0)
+            return geometry.full().nthSetBitAndNot(shots, ThreadLocalRandom.current().nextInt(geometry.full().cardinalityAndNot(shots)));
+        return CELL;
+    }
+
+
+    private int pickMaximum(long[] density, BitBoard shots) {
+        long maximum = 0;
+        int cell = -1;
+        int ties = 0;
+
+        for (int index = 0; index < density.length; index++) {
+            if (density[index] == 0 || shots.get(index))
+                continue;
+
+            if (density[index] > maximum) {
+                maximum = density[index];
+                cell = index;
+                ties = 1;
+            } else if (density[index] == maximum && ThreadLocalRandom.current().nextInt(++ties) == 0) {
+                cell = index;
+            }
+        }
+        return cell;
+    }
+
+
+    private int pickProportional(long[] density, BitBoard shots) {
+        long total = 0;
+        for (int index = 0; index < density.length; index++) {
+            if (!shots.get(index))
+                total += density[index];
+        }
+        if (total == 0)
+            return -1;
+
+        long remaining = ThreadLocalRandom.current().nextLong(total);
+        for (int index = 0; index < density.length; index++) {
+            if (shots.get(index))
+                continue;
+
+            remaining -= density[index];
+            if (remaining < 0)
+                return index;
+        }
+        return -1;
+    }
+
+}
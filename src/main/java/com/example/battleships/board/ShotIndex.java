@@ -0,0 +1,216 @@
+package com.example.battleships.board;
+
+import com.example.battleships.entity.Ship;
+import com.example.battleships.entity.Turn;
+import com.example.battleships.enumeration.Player;
+
+import java.util.Arrays;
+import java.util.Set;
+
+public final class ShotIndex {
+
+    private static final int PLAYERS = Player.values().length;
+
+    private final BoardGeometry geometry;
+
+    // indexed by the player who fired the shots
+    private final BitBoard[] shots = new BitBoard[PLAYERS];
+
+    // indexed by the player who owns the ships
+    private final Ship[][] ships = new Ship[PLAYERS][];
+    private final int[][] shipAtCell = new int[PLAYERS][];
+    private final int[][] hits = new int[PLAYERS][];
+    private final int[] sunkShips = new int[PLAYERS];
+    private final BitBoard[] fleets = new BitBoard[PLAYERS];
+    private final BitBoard[] water = new BitBoard[PLAYERS];
+
+    // indexed by the player who fired the shots
+    private final TargetKnowledge[] knowledge = new TargetKnowledge[PLAYERS];
+
+    private Turn lastTurn;
+    private int turnCount;
+
+
+    /**
+     * Creates an index without any turns for the fleets of both players
+     *
+     * @param geometry       - The geometry of the board
+     * @param shipsPlayerOne - The ships of PLAYER_ONE
+     * @param shipsPlayerTwo - The ships of PLAYER_TWO
+     */
+
+    public ShotIndex(BoardGeometry geometry, Set<Ship> shipsPlayerOne, Set<Ship> shipsPlayerTwo) {
+        this.geometry = geometry;
+
+        indexFleet(Player.PLAYER_ONE, shipsPlayerOne);
+        indexFleet(Player.PLAYER_TWO, shipsPlayerTwo);
+
+        for (Player player : Player.values()) {
+            shots[player.ordinal()]     = new BitBoard(geometry.size());
+            knowledge[player.ordinal()] = new TargetKnowledge(geometry.size(), ships[opponent(player).ordinal()]);
+        }
+    }
+
+
+    /**
+     * Updates the index with a turn which was just appended to the game
+     *
+     * @param turn - The new turn
+     */
+
+    public void add(Turn turn) {
+        final int shooter = turn.getPlayer().ordinal();
+        final int owner   = opponent(turn.getPlayer()).ordinal();
+        final int cell    = geometry.index(turn.getCoordinates().getX(), turn.getCoordinates().getY());
+
+        if (!shots[shooter].get(cell)) {
+            shots[shooter].set(cell);
+
+            final int slot = shipAtCell[owner][cell];
+            knowledge[shooter].recordShot(cell, slot >= 0);
+
+            if (slot >= 0 && ++hits[owner][slot] == ships[owner][slot].getShipType().length) {
+                final Ship ship = ships[owner][slot];
+                final int x = ship.getCoordinates().getX();
+                final int y = ship.getCoordinates().getY();
+
+                sunkShips[owner]++;
+                knowledge[shooter].recordSunk(
+                        ship.getShipType(),
+                        geometry.footprint(ship.getShipType(), ship.getOrientation(), x, y),
+                        geometry.clearance(ship.getShipType(), ship.getOrientation(), x, y)
+                );
+            }
+        }
+        if (lastTurn == null || turn.getTurn() > lastTurn.getTurn())
+            lastTurn = turn;
+        turnCount++;
+    }
+
+
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+
+    public Turn getLastTurn() {
+        return lastTurn;
+    }
+
+
+    public int getTurnCount() {
+        return turnCount;
+    }
+
+
+    public boolean hasShotAt(Player shooter, int cell) {
+        return shots[shooter.ordinal()].get(cell);
+    }
+
+
+    /**
+     * @return The cells the player has already shot at - must not be modified
+     */
+
+    public BitBoard getShots(Player shooter) {
+        return shots[shooter.ordinal()];
+    }
+
+
+    /**
+     * Gets what the player learned about the field of the opponent from the own shots and the sunk ships
+     *
+     * @param shooter - The player who fired the shots
+     *
+     * @return The knowledge of the player
+     */
+
+    public TargetKnowledge getKnowledge(Player shooter) {
+        return knowledge[shooter.ordinal()];
+    }
+
+
+    /**
+     * @return The cells occupied by the ships of the player - must not be modified
+     */
+
+    public BitBoard getFleet(Player owner) {
+        return fleets[owner.ordinal()];
+    }
+
+
+    /**
+     * @return The cells of the player which are not occupied by ships - must not be modified
+     */
+
+    public BitBoard getWater(Player owner) {
+        return water[owner.ordinal()];
+    }
+
+
+    /**
+     * Gets the ship of the player which occupies the cell
+     *
+     * @param owner - The player who owns the ship
+     * @param cell  - The index of the cell
+     *
+     * @return The ship or null if the cell is water
+     */
+
+    public Ship getShip(Player owner, int cell) {
+        final int slot = shipAtCell[owner.ordinal()][cell];
+        return slot >= 0 ? ships[owner.ordinal()][slot] : null;
+    }
+
+
+    /**
+     * Checks if every cell of the ship has been hit
+     *
+     * @param owner - The player who owns the ship
+     * @param ship  - The ship which should be checked
+     *
+     * @return Is the ship sunk
+     */
+
+    public boolean isSunk(Player owner, Ship ship) {
+        final int cell = geometry.index(ship.getCoordinates().getX(), ship.getCoordinates().getY());
+        final int slot = shipAtCell[owner.ordinal()][cell];
+
+        return slot >= 0 && hits[owner.ordinal()][slot] == ship.getShipType().length;
+    }
+
+
+    public boolean isFleetSunk(Player owner) {
+        return sunkShips[owner.ordinal()] == ships[owner.ordinal()].length;
+    }
+
+
+    public static Player opponent(Player player) {
+        return player.equals(Player.PLAYER_ONE) ? Player.PLAYER_TWO : Player.PLAYER_ONE;
+    }
+
+
+    private void indexFleet(Player owner, Set<Ship> fleet) {
+        final int player = owner.ordinal();
+
+        ships[player]      = fleet.toArray(new Ship[0]);
+        hits[player]       = new int[ships[player].length];
+        shipAtCell[player] = new int[geometry.size()];
+        fleets[player]     = new BitBoard(geometry.size());
+        water[player]      = new BitBoard(geometry.size());
+
+        Arrays.fill(shipAtCell[player], -1);
+
+        for (int slot = 0; slot < ships[player].length; slot++) {
+            final Ship ship = ships[player][slot];
+            final BitBoard footprint = geometry.footprint(ship.getShipType(), ship.getOrientation(), ship.getCoordinates().getX(), ship.getCoordinates().getY());
+
+            for (int cell = footprint.nextSetBit(0); cell >= 0; cell = footprint.nextSetBit(cell + 1))
+                shipAtCell[player][cell] = slot;
+            fleets[player].or(footprint);
+        }
+        water[player].copyFrom(geometry.full());
+        water[player].andNot(fleets[player]);
+    }
+
+}
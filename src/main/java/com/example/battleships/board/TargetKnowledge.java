@@ -0,0 +1,82 @@
+package com.example.battleships.board;
+
+import com.example.battleships.entity.Ship;
+import com.example.battleships.enumeration.ShipType;
+
+public final class TargetKnowledge {
+
+    // cells which can not hold an unknown ship - misses, sunk ships and their clearance
+    private final BitBoard blocked;
+
+    // hits on ships which are not sunk yet
+    private final BitBoard openHits;
+
+    // indexed by ShipType
+    private final int[] remainingShips = new int[ShipType.values().length];
+
+    // scratch space for the density calculation, indexed by cell
+    private final long[] density;
+
+
+    /**
+     * Creates the knowledge of a shooter about the field of the opponent before the first shot
+     * Only the composition of the opposing fleet is known, not where the ships are
+     *
+     * @param size          - The amount of cells of the field
+     * @param opposingFleet - The ships of the opponent
+     */
+
+    TargetKnowledge(int size, Ship[] opposingFleet) {
+        this.blocked  = new BitBoard(size);
+        this.openHits = new BitBoard(size);
+        this.density  = new long[size];
+
+        for (Ship ship : opposingFleet)
+            remainingShips[ship.getShipType().ordinal()]++;
+    }
+
+
+    void recordShot(int cell, boolean hit) {
+        if (hit) {
+            openHits.set(cell);
+        } else {
+            blocked.set(cell);
+        }
+    }
+
+
+    void recordSunk(ShipType shipType, BitBoard footprint, BitBoard clearance) {
+        openHits.andNot(footprint);
+        blocked.or(clearance);
+        remainingShips[shipType.ordinal()]--;
+    }
+
+
+    /**
+     * @return The cells which can not hold a ship which is still afloat - must not be modified
+     */
+
+    public BitBoard getBlocked() {
+        return blocked;
+    }
+
+
+    /**
+     * @return The hits on ships which are still afloat - must not be modified
+     */
+
+    public BitBoard getOpenHits() {
+        return openHits;
+    }
+
+
+    public int getRemainingShips(ShipType shipType) {
+        return remainingShips[shipType.ordinal()];
+    }
+
+
+    long[] getDensity() {
+        return density;
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.example.battleships.cache;
+
+import com.example.battleships.entity.Game;
+import com.example.battleships.entity.Ship;
+import com.example.battleships.entity.Turn;
+import lombok.Getter;
+
+final class CachedGame {
+
+    @Getter
+    private final Game game;
+
+    @Getter
+    private volatile long lastAccess = System.currentTimeMillis();
+
+    private PendingWrites pendingWrites;
+
+
+    CachedGame(Game game) {
+        this.game = game;
+    }
+
+
+    void touch() {
+        lastAccess = System.currentTimeMillis();
+    }
+
+
+    synchronized void addTurn(Turn turn) {
+        pending().getTurns().add(turn);
+    }
+
+
+    synchronized void addDestroyedShip(Ship ship) {
+        pending().getDestroyedShips().add(ship);
+    }
+
+
+    synchronized void setWinnerChanged() {
+        pending().setWinnerChanged(true);
+    }
+
+
+    synchronized boolean hasPendingWrites() {
+        return pendingWrites != null;
+    }
+
+
+    /**
+     * Hands over the pending writes of the game to the caller
+     *
+     * @return The pending writes or null if nothing has to be written
+     */
+
+    synchronized PendingWrites drain() {
+        final PendingWrites drained = pendingWrites;
+        pendingWrites = null;
+        return drained;
+    }
+
+
+    /**
+     * Puts writes which could not be persisted back in front of the pending writes
+     *
+     * @param failed - The writes of the failed flush
+     */
+
+    synchronized void requeue(PendingWrites failed) {
+        // the id got taken from the sequence on persist and stays set after the rollback, without resetting it the turn would be merged instead of inserted
+        failed.getTurns().forEach(turn -> turn.setId(null));
+
+        if (pendingWrites != null) {
+            failed.getTurns().addAll(pendingWrites.getTurns());
+            failed.getDestroyedShips().addAll(pendingWrites.getDestroyedShips());
+            failed.setWinnerChanged(failed.isWinnerChanged() || pendingWrites.isWinnerChanged());
+        }
+        pendingWrites = failed;
+    }
+
+
+    private PendingWrites pending() {
+        if (pendingWrites == null)
+            pendingWrites = new PendingWrites(game);
+        return pendingWrites;
+    }
+
+}
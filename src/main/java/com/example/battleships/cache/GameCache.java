@@ -0,0 +1,432 @@
+package com.example.battleships.cache;
+
+import com.example.battleships.archive.GameArchive;
+import com.example.battleships.entity.Game;
+import com.example.battleships.entity.Ship;
+import com.example.battleships.entity.Turn;
+import com.example.battleships.repository.GameStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityNotFoundException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public final class GameCache {
+
+    private final GameStore gameStore;
+    private final GameArchive gameArchive;
+
+    private final GameLocks gameLocks;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int maximumSize;
+    private final long idleTimeoutMillis;
+    private final boolean writeBehind;
+
+    private final Counter conflicts;
+
+    // round trips to the game store - the duration of a single repository call is measured by spring data itself
+    private final Timer storeLoads;
+    private final Timer storeSaves;
+    private final Timer storeWrites;
+
+    // access ordered - the eldest entry is always the least recently used game
+    private final LinkedHashMap<Long, CachedGame> games = new LinkedHashMap<>(16, 0.75f, true);
+
+
+    public GameCache(
+            GameStore gameStore,
+            GameArchive gameArchive,
+            GameLocks gameLocks,
+            TransactionTemplate transactionTemplate,
+            @Value("${battleship.cache.maximum-size:10000}") int maximumSize,
+            @Value("${battleship.cache.idle-timeout-ms:600000}") long idleTimeoutMillis,
+            @Value("${battleship.cache.write-behind:true}") boolean writeBehind,
+            MeterRegistry meterRegistry
+    ) {
+        this.gameStore           = gameStore;
+        this.gameArchive         = gameArchive;
+        this.gameLocks           = gameLocks;
+        this.transactionTemplate = transactionTemplate;
+        this.maximumSize         = maximumSize;
+        this.idleTimeoutMillis   = idleTimeoutMillis;
+        this.writeBehind         = writeBehind;
+
+        this.conflicts = Counter.builder("battleship.game.conflicts")
+                .description("Writes which were rejected because another instance changed the game in the meantime")
+                .register(meterRegistry);
+
+        this.storeLoads  = storeTimer(meterRegistry, "load");
+        this.storeSaves  = storeTimer(meterRegistry, "save");
+        this.storeWrites = storeTimer(meterRegistry, "write");
+    }
+
+
+    /**
+     * Gets the game from the cache or loads it from the game store if it is not cached yet
+     * Games which were purged from the game store after they got archived are loaded from the game archive
+     *
+     * @param id - The id of the game
+     *
+     * @return The cached game
+     */
+
+    public Game get(Long id) {
+        synchronized (games) {
+            final CachedGame cachedGame = games.get(id);
+
+            if (cachedGame != null) {
+                cachedGame.touch();
+                return cachedGame.getGame();
+            }
+        }
+        final long LOAD_START = System.nanoTime();
+        final Game game = gameStore.findById(id).or(() -> gameArchive.find(id)).orElseThrow(() -> new EntityNotFoundException(id.toString()));
+        storeLoads.record(System.nanoTime() - LOAD_START, TimeUnit.NANOSECONDS);
+
+        // games which were stored before games got versioned count as version 0 - hibernate would take them for unsaved games otherwise
+        if (game.getVersion() == null)
+            game.setVersion(0L);
+
+        synchronized (games) {
+            // another request may have loaded the game in the meantime - keep the instance which is already in use
+            final CachedGame cachedGame = games.putIfAbsent(id, new CachedGame(game));
+            if (cachedGame != null) {
+                cachedGame.touch();
+                return cachedGame.getGame();
+            }
+        }
+        evictOverflow();
+        return game;
+    }
+
+
+    /**
+     * Gets the game only if it is already cached
+     *
+     * @param id - The id of the game
+     *
+     * @return The cached game or null
+     */
+
+    public Game getIfPresent(Long id) {
+        synchronized (games) {
+            final CachedGame cachedGame = games.get(id);
+            return cachedGame != null ? cachedGame.getGame() : null;
+        }
+    }
+
+
+    /**
+     * Saves the whole game graph and replaces the cached instance
+     * Pending writes are flushed first so the saved graph is not overwritten by an older state
+     *
+     * @param game - The game which should be saved
+     *
+     * @return The persisted game which is now cached
+     *
+     * @throws OptimisticLockingFailureException If the game got changed by someone else since it was loaded
+     */
+
+    public Game save(Game game) {
+        if (game.getId() != null)
+            flush(game.getId());
+
+        final long SAVE_START = System.nanoTime();
+        final Game savedGame;
+        try {
+            savedGame = gameStore.save(game);
+        } catch (OptimisticLockingFailureException exception) {
+            discard(game);
+            throw exception;
+        } finally {
+            storeSaves.record(System.nanoTime() - SAVE_START, TimeUnit.NANOSECONDS);
+        }
+
+        synchronized (games) {
+            games.put(savedGame.getId(), new CachedGame(savedGame));
+        }
+        evictOverflow();
+        return savedGame;
+    }
+
+
+    /**
+     * Records a turn which got appended to the cached game and has to be inserted later on
+     *
+     * @param game - The cached game
+     * @param turn - The new turn
+     */
+
+    public void recordTurn(Game game, Turn turn) {
+        pendingFor(game).addTurn(turn);
+    }
+
+
+    /**
+     * Records a ship which got destroyed and has to be updated later on
+     *
+     * @param game - The cached game
+     * @param ship - The destroyed ship
+     */
+
+    public void recordDestroyedShip(Game game, Ship ship) {
+        pendingFor(game).addDestroyedShip(ship);
+    }
+
+
+    /**
+     * Records the winner of the game and flushes all pending writes of the game immediately
+     *
+     * @param game - The cached game which has a winner now
+     *
+     * @throws OptimisticLockingFailureException If the game got changed by someone else since it was loaded
+     */
+
+    public void recordWinner(Game game) {
+        pendingFor(game).setWinnerChanged();
+        flush(game.getId());
+    }
+
+
+    /**
+     * Has to be called once a request is done changing the game
+     * Without write-behind the pending writes of the game are flushed right away, so conflicts with other instances reach the request
+     * With write-behind the next scheduled flush writes them - a conflict found there can only discard the game, the shot is already answered
+     *
+     * @param id - The id of the changed game
+     *
+     * @throws OptimisticLockingFailureException If the game got changed by someone else since it was loaded
+     */
+
+    public void changed(Long id) {
+        if (!writeBehind)
+            flush(id);
+    }
+
+
+    /**
+     * Writes the pending changes of every cached game and evicts idle games
+     */
+
+    @Scheduled(fixedDelayString = "${battleship.cache.flush-interval-ms:1000}")
+    public void flush() {
+        writePending();
+        evictIdle();
+    }
+
+
+    /**
+     * Writes the pending changes of every cached game without evicting any game
+     * Used before reading straight from the game store, so the games which are currently played keep their cached state
+     * Games which are in use by a request right now are skipped, the request or the next flush writes them
+     * Only games with pending writes are locked, one at a time - a request never waits for the writes of other games on its stripe
+     * The locks are only tried, a thread which already holds the lock of another game can never deadlock here
+     */
+
+    public void writePending() {
+        final List<CachedGame> dirty = new ArrayList<>();
+
+        synchronized (games) {
+            for (CachedGame cachedGame : games.values()) {
+                if (cachedGame.hasPendingWrites())
+                    dirty.add(cachedGame);
+            }
+        }
+        for (CachedGame cachedGame : dirty) {
+            final Long ID = cachedGame.getGame().getId();
+            if (!gameLocks.tryLock(ID))
+                continue;
+
+            try {
+                write(List.of(cachedGame));
+            } finally {
+                gameLocks.unlock(ID);
+            }
+        }
+    }
+
+
+    /**
+     * Writes the pending changes of a single game
+     * A conflicting game is discarded together with its pending writes, the caller has to play its changes again on the fresh state
+     *
+     * @param id - The id of the game
+     *
+     * @throws OptimisticLockingFailureException If the game got changed by someone else since it was loaded
+     */
+
+    public void flush(Long id) {
+        final CachedGame cachedGame;
+        synchronized (games) {
+            cachedGame = games.get(id);
+        }
+        if (cachedGame == null)
+            return;
+
+        gameLocks.withLock(id, () -> {
+            if (!write(List.of(cachedGame)).isEmpty())
+                throw new ObjectOptimisticLockingFailureException(Game.class, id);
+            return null;
+        });
+    }
+
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+
+    private CachedGame pendingFor(Game game) {
+        synchronized (games) {
+            // the game might have been evicted while it was in use - track it again so no write gets lost
+            return games.computeIfAbsent(game.getId(), id -> new CachedGame(game));
+        }
+    }
+
+
+    /**
+     * Writes the pending changes of the games in a single transaction, the caller has to hold the locks of all the games
+     * Every game only gets written if its version did not change since it was loaded, otherwise it is discarded with its pending writes
+     * Writing the cached state on top of the other change would overwrite its turns and ships, so the conflict is left to the request
+     *
+     * @param cachedGames - The games which should be written
+     *
+     * @return The games which could not be written because of a conflict
+     */
+
+    private List<Game> write(List<CachedGame> cachedGames) {
+        final List<PendingWrites> batch = new ArrayList<>();
+
+        for (CachedGame cachedGame : cachedGames) {
+            final PendingWrites pendingWrites = cachedGame.drain();
+            if (pendingWrites != null)
+                batch.add(pendingWrites);
+        }
+        if (batch.isEmpty())
+            return List.of();
+
+        final long WRITE_START = System.nanoTime();
+        final List<Game> conflicting;
+        try {
+            conflicting = transactionTemplate.execute(status -> gameStore.write(batch));
+        } catch (RuntimeException exception) {
+            log.error("Could not write {} pending game updates, retrying with the next flush", batch.size(), exception);
+
+            for (PendingWrites pendingWrites : batch)
+                pendingFor(pendingWrites.getGame()).requeue(pendingWrites);
+            return List.of();
+        } finally {
+            storeWrites.record(System.nanoTime() - WRITE_START, TimeUnit.NANOSECONDS);
+        }
+
+        for (PendingWrites pendingWrites : batch) {
+            if (!conflicting.contains(pendingWrites.getGame()))
+                pendingWrites.getGame().setVersion(pendingWrites.getGame().getVersion() + 1);
+        }
+
+        for (Game game : conflicting) {
+            log.warn("Game {} got changed by someone else, discarding the cached state", game.getId());
+            discard(game);
+        }
+        return conflicting;
+    }
+
+
+    /**
+     * Drops the game and all of its pending writes, the next access loads the current state from the database
+     *
+     * @param game - The outdated game
+     */
+
+    private void discard(Game game) {
+        conflicts.increment();
+
+        synchronized (games) {
+            final CachedGame cachedGame = games.get(game.getId());
+            if (cachedGame != null && cachedGame.getGame() == game)
+                games.remove(game.getId());
+        }
+    }
+
+
+    private void evictOverflow() {
+        final List<CachedGame> candidates = new ArrayList<>();
+
+        synchronized (games) {
+            final Iterator<CachedGame> iterator = games.values().iterator();
+
+            for (int overflow = games.size() - maximumSize; overflow > 0 && iterator.hasNext(); overflow--)
+                candidates.add(iterator.next());
+        }
+        evict(candidates);
+    }
+
+
+    private void evictIdle() {
+        final long now = System.currentTimeMillis();
+        final List<CachedGame> candidates = new ArrayList<>();
+
+        synchronized (games) {
+            for (CachedGame cachedGame : games.values()) {
+                if (now - cachedGame.getLastAccess() > idleTimeoutMillis)
+                    candidates.add(cachedGame);
+            }
+        }
+        evict(candidates);
+    }
+
+
+    /**
+     * Removes the games from the cache once all their pending writes are persisted
+     * Until then they stay cached, otherwise a concurrent load could read an outdated game from the database
+     * Games which are in use by another request right now are not evicted at all
+     *
+     * @param candidates - The games which should be evicted
+     */
+
+    private void evict(List<CachedGame> candidates) {
+        for (CachedGame cachedGame : candidates) {
+            final Long ID = cachedGame.getGame().getId();
+            if (!gameLocks.tryLock(ID))
+                continue;
+
+            try {
+                write(List.of(cachedGame));
+
+                synchronized (games) {
+                    if (!cachedGame.hasPendingWrites())
+                        games.remove(ID, cachedGame);
+                }
+            } finally {
+                gameLocks.unlock(ID);
+            }
+        }
+    }
+
+
+    private static Timer storeTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("battleship.store")
+                .description("Round trip to the game store including its transaction")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.example.battleships.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+@Component
+public final class GameLocks {
+
+    private final ReentrantLock[] stripes;
+
+    private final int mask;
+
+
+    /**
+     * Creates a fixed table of locks which is shared by all games
+     * Games with different ids usually end up on different stripes, so requests for different games do not wait on each other
+     *
+     * @param stripes - The amount of locks, rounded up to the next power of two
+     */
+
+    public GameLocks(@Value("${battleship.locks.stripes:1024}") int stripes) {
+        final int SIZE = Integer.highestOneBit(Math.max(stripes, 1) * 2 - 1);
+
+        this.stripes = new ReentrantLock[SIZE];
+        this.mask    = SIZE - 1;
+
+        for (int stripe = 0; stripe < SIZE; stripe++)
+            this.stripes[stripe] = new ReentrantLock();
+    }
+
+
+    /**
+     * Runs the action while holding the lock of the game
+     * All changes of one game are serialized this way, while different games can still be changed in parallel
+     *
+     * @param id     - The id of the game
+     * @param action - The action which reads or changes the game
+     *
+     * @return The result of the action
+     */
+
+    public <T> T withLock(Long id, Supplier<T> action) {
+        final ReentrantLock lock = stripes[stripe(id)];
+
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Takes the lock of the game only if it is free or already held by the current thread
+     * Used by writers which run besides the requests, a game which is in use right now is simply skipped by them
+     *
+     * @param id - The id of the game
+     *
+     * @return True if the lock was taken and has to be released with unlock
+     */
+
+    public boolean tryLock(Long id) {
+        return stripes[stripe(id)].tryLock();
+    }
+
+
+    /**
+     * Releases a lock which was taken with tryLock
+     *
+     * @param id - The id of the game
+     */
+
+    public void unlock(Long id) {
+        stripes[stripe(id)].unlock();
+    }
+
+
+    private int stripe(Long id) {
+        final int HASH = id.hashCode();
+
+        // mix in the higher bits so ids which only differ above the mask do not always share a stripe
+        return (HASH ^ (HASH >>> 16)) & mask;
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.example.battleships.cache;
+
+import com.example.battleships.entity.Game;
+import com.example.battleships.entity.Ship;
+import com.example.battleships.entity.Turn;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+public final class PendingWrites {
+
+    private final Game game;
+
+    private final List<Turn> turns = new ArrayList<>();
+
+    private final List<Ship> destroyedShips = new ArrayList<>();
+
+    @Setter
+    private boolean winnerChanged;
+
+}
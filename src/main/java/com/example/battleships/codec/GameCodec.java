@@ -0,0 +1,360 @@
+package com.example.battleships.codec;
+
+import com.example.battleships.entity.*;
+import com.example.battleships.enumeration.Difficulty;
+import com.example.battleships.enumeration.Orientation;
+import com.example.battleships.enumeration.Player;
+import com.example.battleships.enumeration.ShipType;
+import com.example.battleships.event.ShipSunk;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Packs a whole game into a few bytes - used by the binary game store, the game archive and application/octet-stream responses
+ * Enums are stored by their ordinal, so new constants may only be appended
+ * A change of the layout needs a new format version, the decoder rejects versions it does not know
+ * Games are always encoded with the current version, version 1 is still decoded and appended to - it is version 2 without the rules
+ * and with a byte instead of a short for the ship count, its games were played with the classic rules
+ *
+ * <pre>
+ * byte  format version
+ * byte  difficulty
+ * byte  winner, -1 for none
+ * byte  width, byte height
+ * byte  ship type count, per ship type one byte - the amount of ships of the type
+ * 2x    short ship count, per ship one int - type, orientation, destroyed flag and bow cell
+ * int   turn count, per turn one short - player, hit, x - 1 and y - 1 (the turn number is the position)
+ * </pre>
+ */
+public final class GameCodec {
+
+    private static final byte FORMAT_VERSION = 2;
+    private static final byte CLASSIC_RULES_FORMAT_VERSION = 1;
+
+    private static final int HEADER_BYTES = 3;
+    private static final int RULES_BYTES  = 3 + ShipType.values().length;
+    private static final int SHIP_BYTES   = Integer.BYTES;
+    private static final int TURN_BYTES   = Short.BYTES;
+
+    private static final int PLAYER_BIT = 1 << 15;
+    private static final int HIT_BIT    = 1 << 14;
+
+    private static final int DESTROYED_BIT = 1 << 31;
+
+    // x and y - 1 get 7 bits each in a turn and 8 bits each in a ship
+    private static final int COORDINATE_BITS = 7;
+    private static final int COORDINATE_MASK = (1 << COORDINATE_BITS) - 1;
+
+
+    private GameCodec() {
+    }
+
+
+    /**
+     * @param game - The game which should be encoded
+     *
+     * @return The amount of bytes the encoded game takes
+     */
+
+    public static int size(Game game) {
+        return size(game, game.getFieldPlayerTwo().getShips());
+    }
+
+
+    public static byte[] encode(Game game) {
+        final ByteBuffer buffer = ByteBuffer.allocate(size(game));
+        encode(game, buffer);
+        return buffer.array();
+    }
+
+
+    /**
+     * Encodes the game as the human player (always PLAYER_ONE) is allowed to see it, like the GameViewDto
+     * While the game is running the fleet of the KI only contains the ships which are already sunk
+     *
+     * @param game - The game which should be encoded
+     *
+     * @return The encoded game
+     */
+
+    public static byte[] encodeView(Game game) {
+        if (game.getWinner() != null)
+            return encode(game);
+
+        final Set<Ship> sunkShips = new HashSet<>();
+        for (Ship ship : game.getFieldPlayerTwo().getShips()) {
+            if (Boolean.TRUE.equals(ship.getIsDestroyed()))
+                sunkShips.add(ship);
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(size(game, sunkShips));
+        encode(game, sunkShips, buffer);
+        return buffer.array();
+    }
+
+
+    /**
+     * Writes the game at the current position of the buffer
+     *
+     * @param game   - The game which should be encoded
+     * @param buffer - The buffer with at least size(game) remaining bytes
+     */
+
+    public static void encode(Game game, ByteBuffer buffer) {
+        encode(game, game.getFieldPlayerTwo().getShips(), buffer);
+    }
+
+
+    /**
+     * Adds what happened since the game got encoded without decoding it
+     *
+     * @param encoded   - The encoded game
+     * @param turns     - The turns which were played since, in the order they were played
+     * @param sunkShips - The ships which were sunk since
+     * @param winner    - The winner of the game, null if there is none yet
+     *
+     * @return The encoded game including the changes
+     */
+
+    public static byte[] append(byte[] encoded, List<Turn> turns, List<ShipSunk> sunkShips, Player winner) {
+        final ByteBuffer buffer = ByteBuffer.allocate(encoded.length + TURN_BYTES * turns.size());
+        buffer.put(encoded);
+        checkFormatVersion(buffer);
+
+        if (winner != null)
+            buffer.put(2, (byte) winner.ordinal());
+
+        for (ShipSunk shipSunk : sunkShips) {
+            final int FLEET = shipSunk.owner().equals(Player.PLAYER_ONE) ? fleetIndex(buffer) : nextFleetIndex(buffer, fleetIndex(buffer));
+            final int PLACEMENT = packPlacement(shipSunk.shipType(), shipSunk.orientation(), shipSunk.x(), shipSunk.y());
+
+            for (int ship = 0; ship < shipCount(buffer, FLEET); ship++) {
+                final int INDEX = FLEET + shipCountBytes(buffer) + ship * SHIP_BYTES;
+
+                if ((buffer.getInt(INDEX) & ~DESTROYED_BIT) == PLACEMENT)
+                    buffer.putInt(INDEX, PLACEMENT | DESTROYED_BIT);
+            }
+        }
+        final int TURN_COUNT = turnCountIndex(buffer);
+        buffer.putInt(TURN_COUNT, buffer.getInt(TURN_COUNT) + turns.size());
+
+        for (Turn turn : turns)
+            buffer.putShort(packTurn(turn));
+        return buffer.array();
+    }
+
+
+    /**
+     * Rebuilds the whole game from the encoded bytes
+     *
+     * @param id     - The id of the game
+     * @param buffer - The encoded game starting at index 0, the position of the buffer is not changed
+     *
+     * @return The game which is not attached to any persistence context
+     */
+
+    public static Game decode(Long id, ByteBuffer buffer) {
+        final Game game = new Game();
+        game.setId(id);
+
+        decode(game, buffer);
+        return game;
+    }
+
+
+    /**
+     * Replaces the fleets, turns, rules, difficulty and winner of the game with the encoded ones
+     *
+     * @param game   - The game which should be filled
+     * @param buffer - The encoded game starting at index 0, the position of the buffer is not changed
+     */
+
+    public static void decode(Game game, ByteBuffer buffer) {
+        checkFormatVersion(buffer);
+
+        game.setDifficulty(Difficulty.values()[buffer.get(1)]);
+        game.setWinner(buffer.get(2) >= 0 ? Player.values()[buffer.get(2)] : null);
+        game.setRules(decodeRules(buffer));
+
+        final int FLEET_PLAYER_ONE = fleetIndex(buffer);
+        final int FLEET_PLAYER_TWO = nextFleetIndex(buffer, FLEET_PLAYER_ONE);
+
+        game.setFieldPlayerOne(new Field(null, decodeFleet(buffer, FLEET_PLAYER_ONE)));
+        game.setFieldPlayerTwo(new Field(null, decodeFleet(buffer, FLEET_PLAYER_TWO)));
+
+        game.setTurns(decodeTurns(game, buffer, 0, Integer.MAX_VALUE));
+    }
+
+
+    /**
+     * Decodes only the requested turns - every turn takes the same amount of bytes, so they are found without reading the others
+     *
+     * @param game   - The game the turns should point to, may be null
+     * @param buffer - The encoded game starting at index 0, the position of the buffer is not changed
+     * @param from   - The last turn which should be skipped
+     * @param size   - The maximum amount of turns
+     *
+     * @return The following turns of the game
+     */
+
+    public static List<Turn> decodeTurns(Game game, ByteBuffer buffer, int from, int size) {
+        checkFormatVersion(buffer);
+
+        final int INDEX = turnCountIndex(buffer);
+
+        final int TURN_COUNT = buffer.getInt(INDEX);
+        final int FIRST      = Math.min(from, TURN_COUNT);
+        final int LAST       = (int) Math.min((long) FIRST + size, TURN_COUNT);
+        final int TURNS      = INDEX + Integer.BYTES;
+
+        final List<Turn> turns = new ArrayList<>(LAST - FIRST);
+        for (int turn = FIRST; turn < LAST; turn++) {
+            final int packed = buffer.getShort(TURNS + turn * TURN_BYTES);
+
+            turns.add(new Turn(
+                    null,
+                    turn + 1,
+                    (packed & PLAYER_BIT) != 0 ? Player.PLAYER_TWO : Player.PLAYER_ONE,
+                    Coordinates.of((packed >>> COORDINATE_BITS & COORDINATE_MASK) + 1, (packed & COORDINATE_MASK) + 1),
+                    (packed & HIT_BIT) != 0,
+                    game
+            ));
+        }
+        return turns;
+    }
+
+
+    private static int size(Game game, Set<Ship> fleetPlayerTwo) {
+        return HEADER_BYTES + RULES_BYTES
+                + 2 * Short.BYTES + SHIP_BYTES * (game.getFieldPlayerOne().getShips().size() + fleetPlayerTwo.size())
+                + Integer.BYTES + TURN_BYTES * game.getTurns().size();
+    }
+
+
+    private static void encode(Game game, Set<Ship> fleetPlayerTwo, ByteBuffer buffer) {
+        buffer.put(FORMAT_VERSION);
+        buffer.put((byte) game.getDifficulty().ordinal());
+        buffer.put((byte) (game.getWinner() != null ? game.getWinner().ordinal() : -1));
+
+        final Rules rules = game.getRules();
+        buffer.put(rules.getWidth().byteValue());
+        buffer.put(rules.getHeight().byteValue());
+        buffer.put((byte) ShipType.values().length);
+        for (ShipType shipType : ShipType.values())
+            buffer.put((byte) rules.getShipCount(shipType));
+
+        encodeFleet(game.getFieldPlayerOne().getShips(), buffer);
+        encodeFleet(fleetPlayerTwo, buffer);
+
+        buffer.putInt(game.getTurns().size());
+        for (Turn turn : game.getTurns())
+            buffer.putShort(packTurn(turn));
+    }
+
+
+    private static void encodeFleet(Set<Ship> ships, ByteBuffer buffer) {
+        buffer.putShort((short) ships.size());
+
+        for (Ship ship : ships) {
+            final int PLACEMENT = packPlacement(ship.getShipType(), ship.getOrientation(), ship.getCoordinates().getX(), ship.getCoordinates().getY());
+            buffer.putInt(Boolean.TRUE.equals(ship.getIsDestroyed()) ? PLACEMENT | DESTROYED_BIT : PLACEMENT);
+        }
+    }
+
+
+    private static int packPlacement(ShipType shipType, Orientation orientation, int x, int y) {
+        return shipType.ordinal() << 24 | orientation.ordinal() << 16 | (x - 1) << 8 | (y - 1);
+    }
+
+
+    private static short packTurn(Turn turn) {
+        int packed = (turn.getCoordinates().getX() - 1) << COORDINATE_BITS | (turn.getCoordinates().getY() - 1);
+
+        if (turn.getPlayer().equals(Player.PLAYER_TWO))
+            packed |= PLAYER_BIT;
+        if (turn.getHit())
+            packed |= HIT_BIT;
+
+        return (short) packed;
+    }
+
+
+    /**
+     * @return The index of the amount of turns, which is followed by the turns
+     */
+
+    private static int turnCountIndex(ByteBuffer buffer) {
+        return nextFleetIndex(buffer, nextFleetIndex(buffer, fleetIndex(buffer)));
+    }
+
+
+    /**
+     * @return The index of the fleet of PLAYER_ONE, which is followed by the fleet of PLAYER_TWO
+     */
+
+    private static int fleetIndex(ByteBuffer buffer) {
+        if (buffer.get(0) == CLASSIC_RULES_FORMAT_VERSION)
+            return HEADER_BYTES;
+        return HEADER_BYTES + 3 + buffer.get(HEADER_BYTES + 2);
+    }
+
+
+    private static int nextFleetIndex(ByteBuffer buffer, int index) {
+        return index + shipCountBytes(buffer) + SHIP_BYTES * shipCount(buffer, index);
+    }
+
+
+    private static int shipCountBytes(ByteBuffer buffer) {
+        return buffer.get(0) == CLASSIC_RULES_FORMAT_VERSION ? 1 : Short.BYTES;
+    }
+
+
+    private static int shipCount(ByteBuffer buffer, int index) {
+        return buffer.get(0) == CLASSIC_RULES_FORMAT_VERSION ? buffer.get(index) : Short.toUnsignedInt(buffer.getShort(index));
+    }
+
+
+    private static Rules decodeRules(ByteBuffer buffer) {
+        final Rules rules = new Rules();
+        if (buffer.get(0) == CLASSIC_RULES_FORMAT_VERSION)
+            return rules;
+
+        rules.setWidth((int) buffer.get(HEADER_BYTES));
+        rules.setHeight((int) buffer.get(HEADER_BYTES + 1));
+
+        // ship types which were added after the game got encoded keep their classic amount
+        final int SHIP_TYPES = Math.min(buffer.get(HEADER_BYTES + 2), ShipType.values().length);
+        for (int shipType = 0; shipType < SHIP_TYPES; shipType++)
+            rules.setShipCount(ShipType.values()[shipType], buffer.get(HEADER_BYTES + 3 + shipType));
+        return rules;
+    }
+
+
+    private static Set<Ship> decodeFleet(ByteBuffer buffer, int index) {
+        final int SHIP_COUNT = shipCount(buffer, index);
+        final Set<Ship> ships = new HashSet<>();
+
+        for (int ship = 0; ship < SHIP_COUNT; ship++) {
+            final int packed = buffer.getInt(index + shipCountBytes(buffer) + ship * SHIP_BYTES);
+
+            ships.add(new Ship(
+                    null,
+                    Orientation.values()[packed >>> 16 & 0xFF],
+                    ShipType.values()[packed >>> 24 & 0x7F],
+                    Coordinates.of((packed >>> 8 & 0xFF) + 1, (packed & 0xFF) + 1),
+                    (packed & DESTROYED_BIT) != 0
+            ));
+        }
+        return ships;
+    }
+
+
+    private static void checkFormatVersion(ByteBuffer buffer) {
+        if (buffer.get(0) != FORMAT_VERSION && buffer.get(0) != CLASSIC_RULES_FORMAT_VERSION)
+            throw new IllegalStateException("Unknown archive format version " + buffer.get(0));
+    }
+
+}
@@ -10,6 +10,17 @@ public final class GameConfig {
     public final static Integer WIDTH = 10;
     public final static Integer HEIGHT = 10;
 
+    // the limits of the rules a game can be created with, a turn encodes x and y with 7 bits each
+    public final static int MAX_WIDTH = 64;
+    public final static int MAX_HEIGHT = 64;
+    public final static int MAX_SHIPS_PER_TYPE = 100;
+
+    // the time the KI may think about a single shot
+    public final static Long KI_TIME_BUDGET_NANOS = 2_000_000L;
+
+    // ids an instance reserves with a single sequence call - as many as hibernate.jdbc.batch_size puts into one batch
+    public final static int ID_ALLOCATION_SIZE = 50;
+
     public final static Map<ShipType, Integer> ships = new HashMap<>();
 
     static {
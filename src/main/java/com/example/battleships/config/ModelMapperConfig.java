@@ -1,24 +0,0 @@
-package com.example.battleships.config;
-
-import org.modelmapper.ModelMapper;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-
-@Configuration
-public class ModelMapperConfig {
-
-    /**
-     * Creates a ModelMapper which enables us to merge objects
-     * This is mainly used to map the data transfer objects to the entities
-     *
-     * @return ModelMapper
-     */
-
-    @Bean
-    public ModelMapper modelMapper() {
-        final ModelMapper modelMapper = new ModelMapper();
-        modelMapper.getConfiguration().setSkipNullEnabled(true);
-        return modelMapper;
-    }
-
-}
@@ -0,0 +1,57 @@
+package com.example.battleships.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+@Configuration
+@ConditionalOnProperty(value = "battleship.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    // not a bean - an Executor bean would replace the task executor Spring Boot configures for everything else
+    private final ExecutorService virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+
+
+    /**
+     * Lets Tomcat run every request on its own virtual thread instead of its bounded pool of platform threads
+     * Requests blocked on JDBC then no longer occupy a platform thread - the connection pool limits the database work instead
+     *
+     * @return TomcatProtocolHandlerCustomizer
+     */
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        log.info("Serving requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+
+    @PreDestroy
+    public void shutdown() {
+        virtualThreadExecutor.shutdown();
+    }
+
+
+    /**
+     * The project is compiled for Java 17, so the executor is looked up at runtime
+     * It needs a JDK 19 started with --enable-preview or a JDK 21
+     *
+     * @return An executor which starts a new virtual thread for every task
+     */
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException exception) {
+            throw new IllegalStateException("battleship.virtual-threads.enabled requires a JDK 19 started with --enable-preview or a JDK 21", exception);
+        }
+    }
+
+}
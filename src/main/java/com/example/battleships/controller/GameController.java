@@ -1,20 +1,38 @@
 package com.example.battleships.controller;
 
 import com.example.battleships.dto.CoordinatesDto;
+import com.example.battleships.dto.FleetValidationDto;
 import com.example.battleships.dto.GameDto;
+import com.example.battleships.dto.GameSummaryDto;
+import com.example.battleships.dto.GameViewDto;
 import com.example.battleships.dto.ShipsDto;
-import com.example.battleships.entity.Coordinates;
+import com.example.battleships.dto.ShotResultDto;
 import com.example.battleships.entity.Game;
 import com.example.battleships.entity.Ship;
+import com.example.battleships.entity.Turn;
+import com.example.battleships.exception.InvalidFleetException;
+import com.example.battleships.enumeration.Difficulty;
+import com.example.battleships.enumeration.Player;
+import com.example.battleships.mapper.DtoMapper;
 import com.example.battleships.service.GameService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Set;
 
@@ -25,29 +43,120 @@ import java.util.Set;
 public final class GameController {
 
     private final GameService gameService;
-    private final ModelMapper modelMapper;
+    private final DtoMapper dtoMapper;
+    private final ObjectMapper objectMapper;
 
     /**
-     * Gets all battleship games which are currently played or have been playing
+     * Gets a page of summaries of the battleship games which are currently played or have been playing
      *
-     * @return A list of all games
+     * @param difficulty - Only games with this difficulty
+     * @param winner     - Only games won by this player
+     * @param inProgress - Only running (true) or finished (false) games
+     * @param pageable   - The requested page, size and sort order
+     *
+     * @return A page of game summaries
      */
 
     @GetMapping
-    public ResponseEntity<List<Game>> getAll() {
-        return new ResponseEntity<>(gameService.getAllGames(), HttpStatus.OK);
+    public ResponseEntity<Page<GameSummaryDto>> getAll(
+            @RequestParam(value = "difficulty", required = false) Difficulty difficulty,
+            @RequestParam(value = "winner", required = false) Player winner,
+            @RequestParam(value = "inProgress", required = false) Boolean inProgress,
+            @PageableDefault(size = 20, sort = "id") Pageable pageable
+    ) {
+        return new ResponseEntity<>(gameService.getGameSummaries(difficulty, winner, inProgress, pageable), HttpStatus.OK);
+    }
+
+
+    /**
+     * Exports all battleship games with all their details as newline delimited JSON
+     * The games are written one by one as they are read from the database instead of being collected first
+     *
+     * @param response - The response the games get written to
+     */
+
+    @GetMapping(produces = "application/x-ndjson")
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            // the line breaks separate the games - no additional separator between root values
+            generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+
+            gameService.forEachGame(game -> {
+                try {
+                    generator.writeObject(game);
+                    generator.writeRaw('\n');
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+        }
+    }
+
+
+    /**
+     * Gets the game in the compact binary format of the GameCodec
+     * While the game is running the ships of the KI are only part of it once they are sunk
+     *
+     * @param id - The id of the game
+     *
+     * @return The encoded game
+     */
+
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> getEncodedGame(@PathVariable("id") Long id) {
+        return new ResponseEntity<>(gameService.getEncodedGame(id), HttpStatus.OK);
+    }
+
+
+    /**
+     * Gets the turns of a game in the order they were played
+     * Clients only need to fetch the turns which were played after the last turn they know
+     *
+     * @param id   - The id of the game
+     * @param from - The last turn the client already knows
+     * @param size - The maximum amount of turns in the response
+     *
+     * @return The turns played after the given turn
+     */
+
+    @GetMapping("/{id}/turns")
+    public ResponseEntity<List<Turn>> getTurns(
+            @PathVariable("id") Long id,
+            @RequestParam(value = "from", defaultValue = "0") Integer from,
+            @RequestParam(value = "size", defaultValue = "100") Integer size
+    ) {
+        return new ResponseEntity<>(gameService.getTurns(id, from, size), HttpStatus.OK);
+    }
+
+
+    /**
+     * Streams the events of a game as server sent events named TurnPlayed, ShipSunk and GameWon
+     * Clients do not have to poll for the turns of the KI anymore
+     *
+     * @param id - The id of the game
+     *
+     * @return The events from now on until the game is won
+     */
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> getEvents(@PathVariable("id") Long id) {
+        return gameService.getEvents(id);
     }
 
 
     /**
      * Create a new empty game without ships
+     * The game is played with the classic rules unless the request contains others
      *
-     * @return The persisted game
+     * @return The persisted game as the player sees it, bad request if the game can not be played with the rules
      */
 
     @PostMapping
-    public ResponseEntity<Game> create(@Valid @RequestBody GameDto gameDto) {
-        return new ResponseEntity<>(gameService.createGame(modelMapper.map(gameDto, Game.class)), HttpStatus.CREATED);
+    public ResponseEntity<GameViewDto> create(@Valid @RequestBody GameDto gameDto) {
+        final Game game = gameService.createGame(dtoMapper.toGame(gameDto));
+        return game != null ? new ResponseEntity<>(GameViewDto.of(game), HttpStatus.CREATED) : new ResponseEntity<>(HttpStatus.BAD_REQUEST);
     }
 
 
@@ -57,12 +166,12 @@ public final class GameController {
      * @param id                - The id of the game
      * @param shipsDto          - The set of ships which the player wants to place
      *
-     * @return The updated game
+     * @return The updated game as the player sees it - without the fleet of the KI, bad request with the violation if the ships do not match the rules of the game
      */
 
     @PutMapping("/{id}/placeShips")
-    public ResponseEntity<Game> placeShips(@PathVariable("id") Long id, @Valid @RequestBody ShipsDto shipsDto) {
-        final Set<Ship> ships = modelMapper.map(shipsDto.getShips(), new TypeToken<Set<Ship>>() {}.getType());
+    public ResponseEntity<GameViewDto> placeShips(@PathVariable("id") Long id, @Valid @RequestBody ShipsDto shipsDto) {
+        final Set<Ship> ships = dtoMapper.toShips(shipsDto);
         return new ResponseEntity<>(gameService.placeShips(id, ships), HttpStatus.OK);
     }
 
@@ -76,12 +185,26 @@ public final class GameController {
      * @param id                - The game id of the current game
      * @param coordinatesDto    - The coordinate the player wants to shoot at
      *
-     * @return The updated game entity
+     * @return The turns, sunk ships and winner resulting from the shot - the rest of the game is already known to the client
      */
 
     @PutMapping("/{id}/shoot")
-    public ResponseEntity<Game> fire(@PathVariable("id") Long id, @Valid @RequestBody CoordinatesDto coordinatesDto) {
-        return new ResponseEntity<>(gameService.shoot(id, modelMapper.map(coordinatesDto, Coordinates.class)), HttpStatus.OK);
+    public ResponseEntity<ShotResultDto> fire(@PathVariable("id") Long id, @Valid @RequestBody CoordinatesDto coordinatesDto) {
+        return new ResponseEntity<>(gameService.shoot(id, dtoMapper.toCoordinates(coordinatesDto)), HttpStatus.OK);
+    }
+
+
+    /**
+     * Answers ships which do not match the rules of the game with the violation instead of an empty body
+     *
+     * @param exception - The exception thrown while placing the ships
+     *
+     * @return The first violation of the fleet and the ship which caused it
+     */
+
+    @ExceptionHandler(InvalidFleetException.class)
+    public ResponseEntity<FleetValidationDto> invalidFleet(InvalidFleetException exception) {
+        return new ResponseEntity<>(exception.getFleetValidation(), HttpStatus.BAD_REQUEST);
     }
 
 }
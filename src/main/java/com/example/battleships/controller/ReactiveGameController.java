@@ -0,0 +1,105 @@
+package com.example.battleships.controller;
+
+import com.example.battleships.dto.CoordinatesDto;
+import com.example.battleships.dto.FleetValidationDto;
+import com.example.battleships.dto.GameDto;
+import com.example.battleships.dto.GameViewDto;
+import com.example.battleships.dto.ShipsDto;
+import com.example.battleships.dto.ShotResultDto;
+import com.example.battleships.entity.Ship;
+import com.example.battleships.entity.Turn;
+import com.example.battleships.exception.InvalidFleetException;
+import com.example.battleships.mapper.DtoMapper;
+import com.example.battleships.service.ReactiveGameService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import java.util.Set;
+
+/**
+ * The game endpoints without a database round trip per shot - the games live in memory and are snapshotted periodically
+ * No request thread waits for a game, the responses are written once the game was changed on its stripe
+ */
+@CrossOrigin
+@RestController
+@RequestMapping("/reactive/game")
+@RequiredArgsConstructor
+public final class ReactiveGameController {
+
+    private final ReactiveGameService reactiveGameService;
+    private final DtoMapper dtoMapper;
+
+    /**
+     * @param id - The id of the game
+     *
+     * @return The game as the player sees it - the ships of the KI stay hidden until they are sunk
+     */
+
+    @GetMapping("/{id}")
+    public Mono<GameViewDto> get(@PathVariable("id") Long id) {
+        return reactiveGameService.getGame(id);
+    }
+
+
+    /**
+     * Streams the turns of a game as server sent events
+     *
+     * @param id - The id of the game
+     *
+     * @return All turns played so far followed by every new turn until the game has a winner
+     */
+
+    @GetMapping(value = "/{id}/turns", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<Turn> getTurns(@PathVariable("id") Long id) {
+        return reactiveGameService.getTurns(id);
+    }
+
+
+    @PostMapping
+    public Mono<ResponseEntity<GameViewDto>> create(@Valid @RequestBody GameDto gameDto) {
+        return reactiveGameService.createGame(dtoMapper.toGame(gameDto))
+                .map(game -> new ResponseEntity<>(game, HttpStatus.CREATED))
+                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+    }
+
+
+    @PutMapping("/{id}/placeShips")
+    public Mono<GameViewDto> placeShips(@PathVariable("id") Long id, @Valid @RequestBody ShipsDto shipsDto) {
+        final Set<Ship> ships = dtoMapper.toShips(shipsDto);
+        return reactiveGameService.placeShips(id, ships);
+    }
+
+
+    /**
+     * @param id             - The id of the currently played game
+     * @param coordinatesDto - The coordinates the player wants to shoot at
+     *
+     * @return The turns, sunk ships and winner resulting from the shot, like the shot of the blocking API
+     */
+
+    @PutMapping("/{id}/shoot")
+    public Mono<ShotResultDto> fire(@PathVariable("id") Long id, @Valid @RequestBody CoordinatesDto coordinatesDto) {
+        return reactiveGameService.shoot(id, dtoMapper.toCoordinates(coordinatesDto));
+    }
+
+
+    /**
+     * Answers ships which do not match the rules of the game with the violation instead of an empty body
+     *
+     * @param exception - The exception thrown while placing the ships
+     *
+     * @return The first violation of the fleet and the ship which caused it
+     */
+
+    @ExceptionHandler(InvalidFleetException.class)
+    public ResponseEntity<FleetValidationDto> invalidFleet(InvalidFleetException exception) {
+        return new ResponseEntity<>(exception.getFleetValidation(), HttpStatus.BAD_REQUEST);
+    }
+
+}
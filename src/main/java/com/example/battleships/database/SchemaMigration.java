@@ -0,0 +1,110 @@
+package com.example.battleships.database;
+
+import com.example.battleships.config.GameConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.sql.ResultSet;
+import java.util.Map;
+
+/**
+ * Moves the data of databases which were created by older versions of the entities
+ * ddl-auto=update only adds the new tables, columns and sequences, it never moves rows into them
+ * Runs once Hibernate updated the schema and before the application serves any request, every step can be run again safely
+ * The sequences are moved with PostgreSQL functions, the database of the profiles which update their schema
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@DependsOn("entityManagerFactory")
+@ConditionalOnProperty(name = "battleship.schema-migration.enabled", havingValue = "true")
+public final class SchemaMigration {
+
+    // the sequences of the entities whose tables were filled with identity ids before
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "game_sequence", "game",
+            "field_sequence", "field",
+            "ship_sequence", "ship",
+            "turn_sequence", "turn"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+
+    @PostConstruct
+    public void migrate() {
+        transactionTemplate.executeWithoutResult(status -> {
+            migrateTurns();
+            migrateVersions();
+            migrateSequences();
+        });
+    }
+
+
+    /**
+     * Turns used to be linked to their game by the join table game_turns, now they point to it by turn.game_id
+     * The links are copied over and the join table is dropped, otherwise it would keep the deleted turns of purged games referenced
+     */
+
+    private void migrateTurns() {
+        if (!tableExists("game_turns"))
+            return;
+
+        final int TURNS = jdbcTemplate.update(
+                "UPDATE turn SET game_id = (SELECT game_turns.game_id FROM game_turns WHERE game_turns.turns_id = turn.id) WHERE game_id IS NULL"
+        );
+        jdbcTemplate.execute("DROP TABLE game_turns");
+
+        log.info("Linked {} turns to their game and dropped the join table game_turns", TURNS);
+    }
+
+
+    /**
+     * Games which were stored before games got versioned have no version, every write would conflict with them
+     * They start at version 0 like new games, the default keeps rows which are inserted without a version at 0 as well
+     */
+
+    private void migrateVersions() {
+        final int GAMES = jdbcTemplate.update("UPDATE game SET version = 0 WHERE version IS NULL");
+        jdbcTemplate.execute("ALTER TABLE game ALTER COLUMN version SET DEFAULT 0");
+
+        if (GAMES > 0)
+            log.info("Set the version of {} games which were stored without one to 0", GAMES);
+    }
+
+
+    /**
+     * The ids used to come from identity columns, so the sequences hibernate created next to them start at 1 on tables which already have rows
+     * Every sequence is moved behind the highest id of its table, an id block hibernate already reserved from it is never handed out again
+     */
+
+    private void migrateSequences() {
+        SEQUENCES.forEach((sequence, table) -> {
+            final Long NEXT = jdbcTemplate.queryForObject(
+                    "SELECT setval('" + sequence + "', GREATEST((SELECT COALESCE(MAX(id), 0) FROM " + table + ") + ?, (SELECT last_value FROM " + sequence + ")))",
+                    Long.class,
+                    GameConfig.ID_ALLOCATION_SIZE
+            );
+            log.info("Moved {} to {} behind the ids of {}", sequence, NEXT, table);
+        });
+    }
+
+
+    private boolean tableExists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (ResultSet tables = connection.getMetaData().getTables(connection.getCatalog(), null, table, new String[] {"TABLE"})) {
+                return tables.next();
+            }
+        }));
+    }
+
+}
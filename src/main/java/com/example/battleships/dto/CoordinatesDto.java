@@ -1,5 +1,6 @@
 package com.example.battleships.dto;
 
+import com.example.battleships.config.GameConfig;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
@@ -13,12 +14,12 @@ public final class CoordinatesDto {
 
     @NotNull
     @Min(value = 1, message = "lowest possible x value is 1")
-    @Max(value = 10, message = "highest possible x value is {GameConfig.WIDTH}")
+    @Max(value = GameConfig.MAX_WIDTH, message = "highest possible x value is " + GameConfig.MAX_WIDTH)
     private Integer x;
 
     @NotNull
     @Min(value = 1, message = "lowest possible y value is 1")
-    @Max(value = 10, message = "highest possible y value is {GameConfig.HEIGHT}")
+    @Max(value = GameConfig.MAX_HEIGHT, message = "highest possible y value is " + GameConfig.MAX_HEIGHT)
     private Integer y;
 
 }
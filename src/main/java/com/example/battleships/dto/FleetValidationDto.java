@@ -0,0 +1,42 @@
+package com.example.battleships.dto;
+
+import com.example.battleships.entity.Ship;
+import com.example.battleships.enumeration.FleetViolation;
+import com.example.battleships.enumeration.ShipType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The outcome of validating a fleet - the first violation which was found and the ship which caused it
+ * Valid fleets all share the same instance, so validating a valid fleet does not allocate
+ */
+@Getter
+@AllArgsConstructor
+public final class FleetValidationDto {
+
+    public static final FleetValidationDto VALID = new FleetValidationDto(null, null, null);
+
+    // null if the fleet is valid
+    private FleetViolation violation;
+
+    private ShipType shipType;
+
+    // null if the violation is about the amount of ships of the type
+    private Ship ship;
+
+
+    public boolean isValid() {
+        return violation == null;
+    }
+
+
+    @Override
+    public String toString() {
+        if (isValid())
+            return "valid fleet";
+        if (ship == null)
+            return violation + " - " + shipType;
+        return violation + " - " + ship.getShipType() + " " + ship.getOrientation() + " at " + ship.getCoordinates();
+    }
+
+}
@@ -4,6 +4,7 @@ import com.example.battleships.enumeration.Difficulty;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
 @Getter
@@ -13,4 +14,8 @@ public final class GameDto {
     @NotNull
     private Difficulty difficulty;
 
+    // the classic rules if left out
+    @Valid
+    private RulesDto rules;
+
 }
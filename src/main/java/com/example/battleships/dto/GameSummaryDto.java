@@ -0,0 +1,20 @@
+package com.example.battleships.dto;
+
+import com.example.battleships.enumeration.Difficulty;
+import com.example.battleships.enumeration.Player;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public final class GameSummaryDto {
+
+    private Long id;
+
+    private Difficulty difficulty;
+
+    private Player winner;
+
+    private Integer turns;
+
+}
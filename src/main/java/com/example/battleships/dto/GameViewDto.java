@@ -0,0 +1,56 @@
+package com.example.battleships.dto;
+
+import com.example.battleships.entity.Game;
+import com.example.battleships.entity.Rules;
+import com.example.battleships.entity.Ship;
+import com.example.battleships.entity.Turn;
+import com.example.battleships.enumeration.Difficulty;
+import com.example.battleships.enumeration.Player;
+import com.example.battleships.event.ShipSunk;
+import com.example.battleships.event.TurnPlayed;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The game as the human player (always PLAYER_ONE) is allowed to see it - the own fleet, the turns so far and the winner
+ * The ships of the KI stay hidden until they are sunk, like in the ShotResultDto
+ */
+@Getter
+@AllArgsConstructor
+public final class GameViewDto {
+
+    private Long id;
+
+    private Difficulty difficulty;
+
+    private Rules rules;
+
+    private Set<Ship> ships;
+
+    // only the sunk ships of the KI
+    private List<ShipSunk> sunkShips;
+
+    private List<TurnPlayed> turns;
+
+    private Player winner;
+
+
+    public static GameViewDto of(Game game) {
+        final List<ShipSunk> sunkShips = new ArrayList<>();
+        for (Ship ship : game.getFieldPlayerTwo().getShips()) {
+            if (Boolean.TRUE.equals(ship.getIsDestroyed()))
+                sunkShips.add(ShipSunk.of(Player.PLAYER_TWO, ship));
+        }
+
+        final List<TurnPlayed> turns = new ArrayList<>(game.getTurns().size());
+        for (Turn turn : game.getTurns())
+            turns.add(TurnPlayed.of(turn));
+
+        return new GameViewDto(game.getId(), game.getDifficulty(), game.getRules(), game.getFieldPlayerOne().getShips(), sunkShips, turns, game.getWinner());
+    }
+
+}
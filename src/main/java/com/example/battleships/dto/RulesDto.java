@@ -0,0 +1,41 @@
+package com.example.battleships.dto;
+
+import com.example.battleships.config.GameConfig;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+/**
+ * Every value which is left out keeps the classic rules
+ */
+@Getter
+@NoArgsConstructor
+public final class RulesDto {
+
+    @Min(value = 1, message = "lowest possible width is 1")
+    @Max(value = GameConfig.MAX_WIDTH, message = "highest possible width is " + GameConfig.MAX_WIDTH)
+    private Integer width;
+
+    @Min(value = 1, message = "lowest possible height is 1")
+    @Max(value = GameConfig.MAX_HEIGHT, message = "highest possible height is " + GameConfig.MAX_HEIGHT)
+    private Integer height;
+
+    @Min(0)
+    @Max(GameConfig.MAX_SHIPS_PER_TYPE)
+    private Integer submarines;
+
+    @Min(0)
+    @Max(GameConfig.MAX_SHIPS_PER_TYPE)
+    private Integer destroyers;
+
+    @Min(0)
+    @Max(GameConfig.MAX_SHIPS_PER_TYPE)
+    private Integer battleships;
+
+    @Min(0)
+    @Max(GameConfig.MAX_SHIPS_PER_TYPE)
+    private Integer aircraftCarriers;
+
+}
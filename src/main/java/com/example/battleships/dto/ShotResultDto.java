@@ -0,0 +1,27 @@
+package com.example.battleships.dto;
+
+import com.example.battleships.enumeration.Player;
+import com.example.battleships.event.ShipSunk;
+import com.example.battleships.event.TurnPlayed;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * What changed in the game because of a single shot - the turns of the player and the KI, the ships they sank and the winner
+ * The ships of the KI stay hidden until they are sunk
+ */
+@Getter
+@AllArgsConstructor
+@JsonSerialize(using = ShotResultSerializer.class)
+public final class ShotResultDto {
+
+    private List<TurnPlayed> turns;
+
+    private List<ShipSunk> sunkShips;
+
+    private Player winner;
+
+}
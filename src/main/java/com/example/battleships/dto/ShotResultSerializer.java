@@ -0,0 +1,85 @@
+package com.example.battleships.dto;
+
+import com.example.battleships.event.ShipSunk;
+import com.example.battleships.event.TurnPlayed;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes the shot result field by field - this runs on every shot, so no bean introspection and pre-encoded field names
+ */
+public final class ShotResultSerializer extends StdSerializer<ShotResultDto> {
+
+    private static final SerializableString TURNS       = new SerializedString("turns");
+    private static final SerializableString SUNK_SHIPS  = new SerializedString("sunkShips");
+    private static final SerializableString WINNER      = new SerializedString("winner");
+    private static final SerializableString TURN        = new SerializedString("turn");
+    private static final SerializableString PLAYER      = new SerializedString("player");
+    private static final SerializableString OWNER       = new SerializedString("owner");
+    private static final SerializableString SHIP_TYPE   = new SerializedString("shipType");
+    private static final SerializableString ORIENTATION = new SerializedString("orientation");
+    private static final SerializableString X           = new SerializedString("x");
+    private static final SerializableString Y           = new SerializedString("y");
+    private static final SerializableString HIT         = new SerializedString("hit");
+
+
+    public ShotResultSerializer() {
+        super(ShotResultDto.class);
+    }
+
+
+    @Override
+    public void serialize(ShotResultDto shotResult, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject();
+
+        generator.writeFieldName(TURNS);
+        generator.writeStartArray();
+        for (TurnPlayed turn : shotResult.getTurns()) {
+            generator.writeStartObject();
+            generator.writeFieldName(TURN);
+            generator.writeNumber(turn.turn());
+            generator.writeFieldName(PLAYER);
+            generator.writeString(turn.player().name());
+            generator.writeFieldName(X);
+            generator.writeNumber(turn.x());
+            generator.writeFieldName(Y);
+            generator.writeNumber(turn.y());
+            generator.writeFieldName(HIT);
+            generator.writeBoolean(turn.hit());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+
+        generator.writeFieldName(SUNK_SHIPS);
+        generator.writeStartArray();
+        for (ShipSunk ship : shotResult.getSunkShips()) {
+            generator.writeStartObject();
+            generator.writeFieldName(OWNER);
+            generator.writeString(ship.owner().name());
+            generator.writeFieldName(SHIP_TYPE);
+            generator.writeString(ship.shipType().name());
+            generator.writeFieldName(ORIENTATION);
+            generator.writeString(ship.orientation().name());
+            generator.writeFieldName(X);
+            generator.writeNumber(ship.x());
+            generator.writeFieldName(Y);
+            generator.writeNumber(ship.y());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+
+        generator.writeFieldName(WINNER);
+        if (shotResult.getWinner() != null)
+            generator.writeString(shotResult.getWinner().name());
+        else
+            generator.writeNull();
+
+        generator.writeEndObject();
+    }
+
+}
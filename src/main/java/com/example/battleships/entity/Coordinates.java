@@ -1,20 +1,90 @@
 package com.example.battleships.entity;
 
-import lombok.*;
+import com.example.battleships.config.GameConfig;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import javax.persistence.Embeddable;
 
+/**
+ * Immutable coordinates of a cell - of() hands out shared instances for every cell of the largest board and the ring around it
+ * Coordinates loaded by JPA are instantiated by Hibernate and not shared, so they are still compared with equals()
+ */
 @Getter
-@Setter
 @ToString
-@NoArgsConstructor
-@AllArgsConstructor
 @Embeddable
-@EqualsAndHashCode
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
 public final class Coordinates {
 
-    private Integer x;
+    // the ring around the board is part of the clearance of the ships at the edge
+    private static final int MIN = 0;
+    private static final int MAX = Math.max(GameConfig.MAX_WIDTH, GameConfig.MAX_HEIGHT) + 1;
+    private static final int STRIDE = MAX - MIN + 1;
 
-    private Integer y;
+    private static final Coordinates[] interned = new Coordinates[STRIDE * STRIDE];
+
+    static {
+        for (int x = MIN; x <= MAX; x++) {
+            for (int y = MIN; y <= MAX; y++)
+                interned[(x - MIN) * STRIDE + (y - MIN)] = new Coordinates(x, y);
+        }
+    }
+
+    private int x;
+
+    private int y;
+
+
+    private Coordinates(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
+
+
+    /**
+     * Gets the coordinates of a cell - also used by Jackson, so the coordinates of requests are shared as well
+     *
+     * @param x - The column of the cell
+     * @param y - The row of the cell
+     *
+     * @return The shared coordinates or new ones if they lie far outside of every board
+     */
+
+    @JsonCreator
+    public static Coordinates of(@JsonProperty("x") int x, @JsonProperty("y") int y) {
+        if (x < MIN || x > MAX || y < MIN || y > MAX)
+            return new Coordinates(x, y);
+        return interned[(x - MIN) * STRIDE + (y - MIN)];
+    }
+
+
+    /**
+     * @return x and y in a single int, 16 bits each
+     */
+
+    public int pack() {
+        return x << 16 | y & 0xFFFF;
+    }
+
+
+    public static Coordinates unpack(int packed) {
+        return of(packed >> 16, (short) packed);
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof Coordinates other && x == other.x && y == other.y;
+    }
+
+
+    @Override
+    public int hashCode() {
+        return pack();
+    }
 
 }
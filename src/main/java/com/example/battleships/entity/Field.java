@@ -1,5 +1,6 @@
 package com.example.battleships.entity;
 
+import com.example.battleships.config.GameConfig;
 import lombok.*;
 
 import javax.persistence.*;
@@ -16,7 +17,8 @@ import java.util.Set;
 public final class Field {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "field_sequence")
+    @SequenceGenerator(name = "field_sequence", sequenceName = "field_sequence", allocationSize = GameConfig.ID_ALLOCATION_SIZE)
     private Long id;
 
     @OneToMany(fetch = FetchType.EAGER, cascade = CascadeType.ALL)
@@ -1,12 +1,15 @@
 package com.example.battleships.entity;
 
+import com.example.battleships.board.ShotIndex;
+import com.example.battleships.config.GameConfig;
 import com.example.battleships.enumeration.Difficulty;
 import com.example.battleships.enumeration.Player;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
 import javax.persistence.*;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 
 
 @Entity
@@ -18,7 +21,8 @@ import java.util.Set;
 public final class Game {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_sequence")
+    @SequenceGenerator(name = "game_sequence", sequenceName = "game_sequence", allocationSize = GameConfig.ID_ALLOCATION_SIZE)
     private Long id;
 
     @OneToOne(fetch = FetchType.EAGER, cascade = CascadeType.ALL)
@@ -27,8 +31,9 @@ public final class Game {
     @OneToOne(fetch = FetchType.EAGER, cascade = CascadeType.ALL)
     private Field fieldPlayerTwo = new Field();
 
-    @OneToMany(fetch = FetchType.EAGER, cascade = CascadeType.ALL)
-    private Set<Turn> turns = new HashSet<>();
+    @OrderBy("turn ASC")
+    @OneToMany(mappedBy = "game", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
+    private List<Turn> turns = new ArrayList<>();
 
     @Enumerated(value = EnumType.STRING)
     private Difficulty difficulty = Difficulty.VERY_EASY;
@@ -36,4 +41,36 @@ public final class Game {
     @Enumerated(value = EnumType.STRING)
     private Player winner;
 
+    @Embedded
+    private Rules rules = new Rules();
+
+    @Version
+    private Long version;
+
+    // written together with the version, so the summaries do not depend on turn rows - only the jpa backend has those
+    @JsonIgnore
+    private Integer turnCount = 0;
+
+    // only written by the binary game store - the fleets and turns encoded by the GameCodec instead of their own rows
+    @JsonIgnore
+    @ToString.Exclude
+    @Column(length = 1_000_000)
+    private byte[] encoded;
+
+    @Transient
+    @JsonIgnore
+    @ToString.Exclude
+    private ShotIndex shotIndex;
+
+
+    /**
+     * Games which were stored before the rules were part of the game have no rules, they were played by the classic rules
+     */
+
+    public Rules getRules() {
+        if (rules == null)
+            rules = new Rules();
+        return rules;
+    }
+
 }
@@ -0,0 +1,26 @@
+package com.example.battleships.entity;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+
+@Entity
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public final class GameSnapshot {
+
+    @Id
+    private Long gameId;
+
+    // the snapshot contains every event of the game up to this one
+    private Long lastEventId;
+
+    @ToString.Exclude
+    @Column(length = 1_000_000)
+    private String payload;
+
+}
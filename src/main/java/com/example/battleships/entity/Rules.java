@@ -0,0 +1,66 @@
+package com.example.battleships.entity;
+
+import com.example.battleships.config.GameConfig;
+import com.example.battleships.enumeration.ShipType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import javax.persistence.Embeddable;
+
+/**
+ * The size of the board and the fleet every player has to place - stored with the game, by default the classic 10x10 board
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+@EqualsAndHashCode
+public final class Rules {
+
+    private Integer width = GameConfig.WIDTH;
+
+    private Integer height = GameConfig.HEIGHT;
+
+    private Integer submarines = GameConfig.ships.get(ShipType.SUBMARINE);
+
+    private Integer destroyers = GameConfig.ships.get(ShipType.DESTROYER);
+
+    private Integer battleships = GameConfig.ships.get(ShipType.BATTLESHIP);
+
+    private Integer aircraftCarriers = GameConfig.ships.get(ShipType.AIRCRAFT_CARRIER);
+
+
+    /**
+     * @param shipType - The type of the ships
+     *
+     * @return How many ships of the type every player has to place
+     */
+
+    public int getShipCount(ShipType shipType) {
+        return switch (shipType) {
+            case SUBMARINE        -> submarines;
+            case DESTROYER        -> destroyers;
+            case BATTLESHIP       -> battleships;
+            case AIRCRAFT_CARRIER -> aircraftCarriers;
+        };
+    }
+
+
+    public void setShipCount(ShipType shipType, int count) {
+        switch (shipType) {
+            case SUBMARINE        -> submarines = count;
+            case DESTROYER        -> destroyers = count;
+            case BATTLESHIP       -> battleships = count;
+            case AIRCRAFT_CARRIER -> aircraftCarriers = count;
+        }
+    }
+
+
+    @JsonIgnore
+    public int getFleetSize() {
+        return submarines + destroyers + battleships + aircraftCarriers;
+    }
+
+}
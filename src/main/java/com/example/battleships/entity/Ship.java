@@ -1,5 +1,6 @@
 package com.example.battleships.entity;
 
+import com.example.battleships.config.GameConfig;
 import com.example.battleships.enumeration.Orientation;
 import com.example.battleships.enumeration.ShipType;
 import lombok.*;
@@ -16,7 +17,8 @@ import javax.persistence.*;
 public final class Ship {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ship_sequence")
+    @SequenceGenerator(name = "ship_sequence", sequenceName = "ship_sequence", allocationSize = GameConfig.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Enumerated(value = EnumType.STRING)
@@ -0,0 +1,28 @@
+package com.example.battleships.entity;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+
+@Entity
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(indexes = @Index(columnList = "gameId, id"))
+public final class StoredEvent {
+
+    // ascending per game since the writes of a game never overlap - a pooled sequence would hand out ids out of order between instances
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long gameId;
+
+    private String type;
+
+    private String payload;
+
+}
@@ -1,6 +1,8 @@
 package com.example.battleships.entity;
 
+import com.example.battleships.config.GameConfig;
 import com.example.battleships.enumeration.Player;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
 import javax.persistence.*;
@@ -15,7 +17,8 @@ import javax.persistence.*;
 public final class Turn {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "turn_sequence")
+    @SequenceGenerator(name = "turn_sequence", sequenceName = "turn_sequence", allocationSize = GameConfig.ID_ALLOCATION_SIZE)
     private Long id;
 
     private Integer turn;
@@ -27,4 +30,9 @@ public final class Turn {
 
     private Boolean hit;
 
+    @JsonIgnore
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Game game;
+
 }
@@ -7,12 +7,23 @@ public enum Difficulty {
     MEDIUM(40),
     HARD(60),
     VERY_HARD(80),
-    UNBEATABLE(100);
+    UNBEATABLE(100),
+
+    // these play fair - they only know the turns and sunk ships and ignore the accuracy
+    TACTICIAN(0, Targeting.DENSITY_SAMPLING),
+    STRATEGIST(0, Targeting.DENSITY_MAXIMUM);
 
     public final Integer accuracy;
 
+    public final Targeting targeting;
+
     Difficulty(Integer accuracy) {
-        this.accuracy = accuracy;
+        this(accuracy, Targeting.ACCURACY);
+    }
+
+    Difficulty(Integer accuracy, Targeting targeting) {
+        this.accuracy  = accuracy;
+        this.targeting = targeting;
     }
 
 }
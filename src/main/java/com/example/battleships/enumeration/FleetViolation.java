@@ -0,0 +1,10 @@
+package com.example.battleships.enumeration;
+
+public enum FleetViolation {
+
+    TOO_MANY_SHIPS,
+    TOO_FEW_SHIPS,
+    OFF_THE_FIELD,
+    NOT_ENOUGH_CLEARANCE
+
+}
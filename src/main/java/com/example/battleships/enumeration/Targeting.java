@@ -0,0 +1,20 @@
+package com.example.battleships.enumeration;
+
+public enum Targeting {
+
+    /**
+     * Knows where the ships are and hits them according to the accuracy of the difficulty
+     */
+    ACCURACY,
+
+    /**
+     * Samples its shots proportional to the probability of a ship being on a cell
+     */
+    DENSITY_SAMPLING,
+
+    /**
+     * Always shoots at the cell which most likely holds a ship
+     */
+    DENSITY_MAXIMUM
+
+}
@@ -0,0 +1,12 @@
+package com.example.battleships.event;
+
+/**
+ * Something that happened in a game - sent to the clients as a server sent event named after the record
+ */
+public sealed interface GameEvent permits TurnPlayed, ShipSunk, GameWon {
+
+    default String name() {
+        return getClass().getSimpleName();
+    }
+
+}
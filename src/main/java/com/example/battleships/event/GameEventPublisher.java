@@ -0,0 +1,91 @@
+package com.example.battleships.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public final class GameEventPublisher {
+
+    private final ObjectMapper objectMapper;
+
+    // events a subscriber did not take yet - the oldest ones are dropped once a slow subscriber falls this far behind
+    private final int bufferSize;
+
+    // every subscriber has its own sink - only games somebody listens to are contained
+    private final Map<Long, Set<Sinks.Many<ServerSentEvent<String>>>> sinks = new ConcurrentHashMap<>();
+
+
+    public GameEventPublisher(ObjectMapper objectMapper, @Value("${battleship.events.buffer-size:256}") int bufferSize) {
+        this.objectMapper = objectMapper;
+        this.bufferSize   = bufferSize;
+    }
+
+
+    /**
+     * Subscribes to the events of a game
+     * Has to be called while holding the lock of the game, otherwise the end of the game could be missed
+     * The sink of the subscriber keeps the events which are published until the flux actually gets subscribed
+     *
+     * @param id - The id of the game
+     *
+     * @return The events of the game, completes once the game is won
+     */
+
+    public Flux<ServerSentEvent<String>> subscribe(Long id) {
+        final Sinks.Many<ServerSentEvent<String>> sink = Sinks.many().unicast().onBackpressureBuffer();
+
+        sinks.compute(id, (key, subscribers) -> {
+            final Set<Sinks.Many<ServerSentEvent<String>>> SUBSCRIBERS = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            SUBSCRIBERS.add(sink);
+            return SUBSCRIBERS;
+        });
+
+        return sink.asFlux()
+                .onBackpressureBuffer(bufferSize, dropped -> log.debug("Dropped event {} of game {} for a slow subscriber", dropped.event(), id), BufferOverflowStrategy.DROP_OLDEST)
+                .doFinally(signal -> sinks.computeIfPresent(id, (key, subscribers) -> {
+                    subscribers.remove(sink);
+                    return subscribers.isEmpty() ? null : subscribers;
+                }));
+    }
+
+
+    /**
+     * Sends the event to every subscriber of the game
+     * The event is encoded once and the same instance is handed to all subscribers
+     * Has to be called while holding the lock of the game, so the events of a game are published one after another
+     *
+     * @param id    - The id of the game
+     * @param event - The event which happened
+     */
+
+    public void publish(Long id, GameEvent event) {
+        final Set<Sinks.Many<ServerSentEvent<String>>> subscribers = event instanceof GameWon ? sinks.remove(id) : sinks.get(id);
+        if (subscribers == null)
+            return;
+
+        try {
+            final ServerSentEvent<String> SERVER_SENT_EVENT = ServerSentEvent.builder(objectMapper.writeValueAsString(event)).event(event.name()).build();
+
+            for (Sinks.Many<ServerSentEvent<String>> sink : subscribers)
+                sink.tryEmitNext(SERVER_SENT_EVENT);
+        } catch (JsonProcessingException exception) {
+            log.error("Could not encode event {} of game {}", event, id, exception);
+        }
+
+        if (event instanceof GameWon)
+            subscribers.forEach(Sinks.Many::tryEmitComplete);
+    }
+
+}
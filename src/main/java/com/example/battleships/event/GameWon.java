@@ -0,0 +1,6 @@
+package com.example.battleships.event;
+
+import com.example.battleships.enumeration.Player;
+
+public record GameWon(Player winner) implements GameEvent {
+}
@@ -0,0 +1,17 @@
+package com.example.battleships.event;
+
+import com.example.battleships.entity.Ship;
+import com.example.battleships.enumeration.Orientation;
+import com.example.battleships.enumeration.Player;
+import com.example.battleships.enumeration.ShipType;
+
+/**
+ * @param owner - The player who lost the ship
+ */
+public record ShipSunk(Player owner, ShipType shipType, Orientation orientation, Integer x, Integer y) implements GameEvent {
+
+    public static ShipSunk of(Player owner, Ship ship) {
+        return new ShipSunk(owner, ship.getShipType(), ship.getOrientation(), ship.getCoordinates().getX(), ship.getCoordinates().getY());
+    }
+
+}
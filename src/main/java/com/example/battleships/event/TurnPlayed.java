@@ -0,0 +1,15 @@
+package com.example.battleships.event;
+
+import com.example.battleships.entity.Turn;
+import com.example.battleships.enumeration.Player;
+
+/**
+ * @param turn - The number of the turn, clients which missed turns can fetch them from /game/{id}/turns?from=
+ */
+public record TurnPlayed(Integer turn, Player player, Integer x, Integer y, Boolean hit) implements GameEvent {
+
+    public static TurnPlayed of(Turn turn) {
+        return new TurnPlayed(turn.getTurn(), turn.getPlayer(), turn.getCoordinates().getX(), turn.getCoordinates().getY(), turn.getHit());
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.example.battleships.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown if a game kept getting changed by someone else while a request tried to change it
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public final class GameConflictException extends RuntimeException {
+
+    public GameConflictException(Long id, Throwable cause) {
+        super("Game " + id + " got changed concurrently, please reload it", cause);
+    }
+
+}
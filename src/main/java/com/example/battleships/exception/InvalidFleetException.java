@@ -0,0 +1,23 @@
+package com.example.battleships.exception;
+
+import com.example.battleships.dto.FleetValidationDto;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown if the ships a player wants to place do not fit the rules of the game
+ */
+@Getter
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public final class InvalidFleetException extends RuntimeException {
+
+    private final FleetValidationDto fleetValidation;
+
+
+    public InvalidFleetException(Long id, FleetValidationDto fleetValidation) {
+        super("The ships can not be placed in game " + id + " - " + fleetValidation);
+        this.fleetValidation = fleetValidation;
+    }
+
+}
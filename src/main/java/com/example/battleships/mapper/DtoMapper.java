@@ -0,0 +1,52 @@
+package com.example.battleships.mapper;
+
+import com.example.battleships.dto.CoordinatesDto;
+import com.example.battleships.dto.GameDto;
+import com.example.battleships.dto.RulesDto;
+import com.example.battleships.dto.ShipDto;
+import com.example.battleships.dto.ShipsDto;
+import com.example.battleships.entity.Coordinates;
+import com.example.battleships.entity.Game;
+import com.example.battleships.entity.Rules;
+import com.example.battleships.entity.Ship;
+import org.mapstruct.Mapper;
+import org.mapstruct.NullValueCheckStrategy;
+import org.mapstruct.ReportingPolicy;
+
+import java.util.Set;
+
+/**
+ * Maps the data transfer objects of the requests to the entities
+ * The implementation is generated at compile time, so mapping a request is a plain sequence of getter and setter calls
+ * Null values are skipped, so the defaults of the entities stay in place
+ */
+@Mapper(
+        componentModel = "spring",
+        nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS,
+        unmappedTargetPolicy = ReportingPolicy.IGNORE
+)
+public interface DtoMapper {
+
+    Game toGame(GameDto gameDto);
+
+
+    Rules toRules(RulesDto rulesDto);
+
+
+    Ship toShip(ShipDto shipDto);
+
+
+    Set<Ship> toShips(Set<ShipDto> shipDtos);
+
+
+    default Set<Ship> toShips(ShipsDto shipsDto) {
+        return toShips(shipsDto.getShips());
+    }
+
+
+    // coordinates are immutable and shared, they can not be filled by setters
+    default Coordinates toCoordinates(CoordinatesDto coordinatesDto) {
+        return Coordinates.of(coordinatesDto.getX(), coordinatesDto.getY());
+    }
+
+}
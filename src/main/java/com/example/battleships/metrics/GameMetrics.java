@@ -0,0 +1,149 @@
+package com.example.battleships.metrics;
+
+import com.example.battleships.config.GameConfig;
+import com.example.battleships.enumeration.Difficulty;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registers the meters of the hot paths of a game once, so recording a value is a plain method call without a lookup in the registry
+ * Durations are recorded from System.nanoTime() instead of Timer.Sample, so the hot paths do not allocate for their metrics
+ * Histogram buckets are switched on by the management.metrics.distribution properties, the counting summaries bound their buckets here
+ */
+@Component
+public final class GameMetrics {
+
+    // a fleet usually fits with one attempt per ship, the histogram only needs to cover bad luck with the backtracking
+    private static final double MAX_EXPECTED_PLACEMENT_ATTEMPTS = 10_000;
+
+    private final Timer shoot;
+
+    private final Timer shootLoad;
+    private final Timer shootRules;
+    private final Timer shootBot;
+    private final Timer shootSave;
+
+    private final Counter retries;
+
+    private final DistributionSummary botTurns;
+
+    private final Timer placement;
+    private final DistributionSummary placementAttempts;
+
+    private final Map<Difficulty, Timer> kiShots = new EnumMap<>(Difficulty.class);
+
+
+    public GameMetrics(MeterRegistry meterRegistry) {
+        this.shoot = Timer.builder("battleship.shoot")
+                .description("Whole shot of the human player including waiting for the lock of the game and retries")
+                .register(meterRegistry);
+
+        this.shootLoad  = shootPhase(meterRegistry, "load");
+        this.shootRules = shootPhase(meterRegistry, "rules");
+        this.shootBot   = shootPhase(meterRegistry, "bot");
+        this.shootSave  = shootPhase(meterRegistry, "save");
+
+        this.retries = Counter.builder("battleship.game.retries")
+                .description("Shots which were played again because another instance changed the game in the meantime")
+                .register(meterRegistry);
+
+        this.botTurns = DistributionSummary.builder("battleship.bot.turns")
+                .description("Turns the KI played in answer to a single shot of the human player")
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue((double) GameConfig.MAX_WIDTH * GameConfig.MAX_HEIGHT)
+                .register(meterRegistry);
+
+        this.placement = Timer.builder("battleship.ki.placement")
+                .description("Placement of a whole KI fleet")
+                .register(meterRegistry);
+        this.placementAttempts = DistributionSummary.builder("battleship.ki.placement.attempts")
+                .description("Placements the KI tried until the whole fleet fit on the field")
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(MAX_EXPECTED_PLACEMENT_ATTEMPTS)
+                .register(meterRegistry);
+
+        for (Difficulty difficulty : Difficulty.values()) {
+            kiShots.put(difficulty, Timer.builder("battleship.ki.shot")
+                    .description("Choice of the coordinates of a single KI shot")
+                    .tag("difficulty", difficulty.name())
+                    .register(meterRegistry));
+        }
+    }
+
+
+    /**
+     * @return Metrics which are not published anywhere, for services which are wired without Spring
+     */
+
+    public static GameMetrics noop() {
+        return new GameMetrics(new CompositeMeterRegistry());
+    }
+
+
+    public void recordShoot(long startNanos) {
+        shoot.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+
+    public void recordShootLoad(long startNanos) {
+        shootLoad.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+
+    public void recordShootRules(long startNanos) {
+        shootRules.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+
+    public void recordShootBot(long startNanos) {
+        shootBot.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+
+    public void recordShootSave(long startNanos) {
+        shootSave.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+
+    public void recordRetry() {
+        retries.increment();
+    }
+
+
+    public void recordBotTurns(int turns) {
+        botTurns.record(turns);
+    }
+
+
+    /**
+     * @param startNanos - The moment the placement started
+     * @param attempts   - The amount of placements which were tried including the ones which got taken back
+     */
+
+    public void recordPlacement(long startNanos, int attempts) {
+        placement.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        placementAttempts.record(attempts);
+    }
+
+
+    public void recordKiShot(Difficulty difficulty, long startNanos) {
+        kiShots.get(difficulty).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+
+    private static Timer shootPhase(MeterRegistry meterRegistry, String phase) {
+        return Timer.builder("battleship.shoot.phase")
+                .description("Single phase of a shot - loading the game, the rules of the human turn, the KI turns and saving")
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,152 @@
+package com.example.battleships.repository;
+
+import com.example.battleships.cache.PendingWrites;
+import com.example.battleships.codec.GameCodec;
+import com.example.battleships.entity.Field;
+import com.example.battleships.entity.Game;
+import com.example.battleships.entity.Ship;
+import com.example.battleships.entity.Turn;
+import com.example.battleships.enumeration.Player;
+import com.example.battleships.event.ShipSunk;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Stores a game as a single row - the fleets and turns are encoded by the GameCodec into the encoded column of the game
+ * Difficulty and winner are kept in their own columns as well, so the games can still be queried
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "battleship.persistence.backend", havingValue = "binary")
+public final class BinaryGameStore implements GameStore {
+
+    private final GameRepository gameRepository;
+
+    private final EntityManager entityManager;
+
+
+    /**
+     * The game is detached before it gets decoded, otherwise the decoded fleets and turns would be inserted as rows
+     */
+
+    @Override
+    public Optional<Game> findById(Long id) {
+        return gameRepository.findById(id).map(game -> {
+            entityManager.detach(game);
+            return decode(game);
+        });
+    }
+
+
+    /**
+     * The saved game is detached before the fleets and turns are put back, otherwise they would be inserted as rows
+     */
+
+    @Override
+    public Game save(Game game) {
+        final Field fieldPlayerOne = game.getFieldPlayerOne();
+        final Field fieldPlayerTwo = game.getFieldPlayerTwo();
+        final List<Turn> turns     = game.getTurns();
+
+        game.setEncoded(GameCodec.encode(game));
+        game.setFieldPlayerOne(null);
+        game.setFieldPlayerTwo(null);
+        game.setTurns(new ArrayList<>());
+
+        final Game savedGame;
+        try {
+            savedGame = gameRepository.save(game);
+        } finally {
+            restore(game, fieldPlayerOne, fieldPlayerTwo, turns);
+        }
+        entityManager.detach(savedGame);
+        restore(savedGame, fieldPlayerOne, fieldPlayerTwo, turns);
+        return savedGame;
+    }
+
+
+    /**
+     * Appends the new turns to the encoded game of the database, the cached game itself is still changed by the running requests
+     */
+
+    @Override
+    public List<Game> write(List<PendingWrites> batch) {
+        final List<Game> conflicting = new ArrayList<>();
+
+        for (PendingWrites pendingWrites : batch) {
+            final Game game = pendingWrites.getGame();
+            final int TURN_COUNT = game.getTurns().size();
+
+            if (gameRepository.incrementVersion(game.getId(), game.getVersion(), TURN_COUNT) == 0) {
+                conflicting.add(game);
+                continue;
+            }
+            game.setTurnCount(TURN_COUNT);
+            final List<ShipSunk> sunkShips = new ArrayList<>();
+            for (Ship ship : pendingWrites.getDestroyedShips()) {
+                // the fleets do not change while the game is played, reading them from here is safe
+                final Player OWNER = game.getFieldPlayerOne().getShips().contains(ship) ? Player.PLAYER_ONE : Player.PLAYER_TWO;
+                sunkShips.add(ShipSunk.of(OWNER, ship));
+            }
+            final Player WINNER = pendingWrites.isWinnerChanged() ? game.getWinner() : null;
+
+            gameRepository.updateEncoded(game.getId(), GameCodec.append(gameRepository.findEncodedById(game.getId()), pendingWrites.getTurns(), sunkShips, WINNER));
+
+            if (WINNER != null)
+                gameRepository.updateWinner(game.getId(), WINNER);
+        }
+        return conflicting;
+    }
+
+
+    @Override
+    public List<Turn> findTurns(Long id, int from, int size) {
+        final byte[] encoded = gameRepository.findEncodedById(id);
+        return encoded != null ? GameCodec.decodeTurns(null, ByteBuffer.wrap(encoded), from, size) : List.of();
+    }
+
+
+    @Override
+    public void forEach(Consumer<Game> consumer) {
+        try (Stream<Game> games = gameRepository.streamAll()) {
+            games.forEach(game -> {
+                entityManager.detach(game);
+                consumer.accept(decode(game));
+            });
+        }
+    }
+
+
+    @Override
+    public void delete(Long id) {
+        gameRepository.deleteById(id);
+    }
+
+
+    private Game decode(Game game) {
+        if (game.getEncoded() != null)
+            GameCodec.decode(game, ByteBuffer.wrap(game.getEncoded()));
+
+        // the column is only read again by the next write
+        game.setEncoded(null);
+        return game;
+    }
+
+
+    private void restore(Game game, Field fieldPlayerOne, Field fieldPlayerTwo, List<Turn> turns) {
+        game.setFieldPlayerOne(fieldPlayerOne);
+        game.setFieldPlayerTwo(fieldPlayerTwo);
+        game.setTurns(turns);
+        game.setEncoded(null);
+    }
+
+}
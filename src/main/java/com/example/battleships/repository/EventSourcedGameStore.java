@@ -0,0 +1,315 @@
+package com.example.battleships.repository;
+
+import com.example.battleships.cache.PendingWrites;
+import com.example.battleships.entity.*;
+import com.example.battleships.enumeration.Player;
+import com.example.battleships.event.GameEvent;
+import com.example.battleships.event.GameWon;
+import com.example.battleships.event.ShipSunk;
+import com.example.battleships.event.TurnPlayed;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the game row with the fleets as it is, but stores everything that happens afterwards as an append-only log of events
+ * Every few turns the state of a game is folded into a snapshot, so loading a game reads a snapshot and a short tail of events
+ * The rows of the turns and the destroyed flags of the ships are never written
+ */
+@Component
+@ConditionalOnProperty(name = "battleship.persistence.backend", havingValue = "event-sourced")
+public final class EventSourcedGameStore implements GameStore {
+
+    private final GameRepository gameRepository;
+
+    private final StoredEventRepository storedEventRepository;
+
+    private final GameSnapshotRepository gameSnapshotRepository;
+
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    private final int snapshotInterval;
+
+
+    public EventSourcedGameStore(
+            GameRepository gameRepository,
+            StoredEventRepository storedEventRepository,
+            GameSnapshotRepository gameSnapshotRepository,
+            EntityManager entityManager,
+            ObjectMapper objectMapper,
+            @Value("${battleship.persistence.snapshot-interval:50}") int snapshotInterval
+    ) {
+        this.gameRepository         = gameRepository;
+        this.storedEventRepository  = storedEventRepository;
+        this.gameSnapshotRepository = gameSnapshotRepository;
+        this.entityManager          = entityManager;
+        this.objectMapper           = objectMapper;
+        this.snapshotInterval       = snapshotInterval;
+    }
+
+
+    /**
+     * The game is detached before the events are replayed on it, otherwise the replayed turns would be inserted as rows
+     */
+
+    @Override
+    public Optional<Game> findById(Long id) {
+        return gameRepository.findById(id).map(game -> {
+            entityManager.detach(game);
+            replay(game, loadState(id));
+            return game;
+        });
+    }
+
+
+    /**
+     * Only the game row and the fleets are saved, the turns are part of the event log
+     * The saved game is detached before the turns are put back, otherwise they would be inserted as rows
+     */
+
+    @Override
+    public Game save(Game game) {
+        final List<Turn> turns = game.getTurns();
+        game.setTurns(new ArrayList<>());
+
+        final Game savedGame;
+        try {
+            savedGame = gameRepository.save(game);
+        } finally {
+            game.setTurns(turns);
+        }
+        entityManager.detach(savedGame);
+        savedGame.setTurns(turns);
+        return savedGame;
+    }
+
+
+    /**
+     * Appends the events of all games at once, the winner is also written to the game row so finished games can be queried
+     */
+
+    @Override
+    public List<Game> write(List<PendingWrites> batch) {
+        final List<Game> conflicting = new ArrayList<>();
+
+        final List<StoredEvent> storedEvents = new ArrayList<>();
+        final Set<Long> snapshotIds = new HashSet<>();
+
+        for (PendingWrites pendingWrites : batch) {
+            final Game game = pendingWrites.getGame();
+            final int TURN_COUNT = game.getTurns().size();
+
+            if (gameRepository.incrementVersion(game.getId(), game.getVersion(), TURN_COUNT) == 0) {
+                conflicting.add(game);
+                continue;
+            }
+            game.setTurnCount(TURN_COUNT);
+            for (Turn turn : pendingWrites.getTurns()) {
+                storedEvents.add(toStoredEvent(game.getId(), TurnPlayed.of(turn)));
+
+                if (turn.getTurn() % snapshotInterval == 0)
+                    snapshotIds.add(game.getId());
+            }
+            for (Ship ship : pendingWrites.getDestroyedShips()) {
+                // the fleets do not change while the game is played, reading them from here is safe
+                final Player OWNER = game.getFieldPlayerOne().getShips().contains(ship) ? Player.PLAYER_ONE : Player.PLAYER_TWO;
+                storedEvents.add(toStoredEvent(game.getId(), ShipSunk.of(OWNER, ship)));
+            }
+            if (pendingWrites.isWinnerChanged()) {
+                storedEvents.add(toStoredEvent(game.getId(), new GameWon(game.getWinner())));
+                gameRepository.updateWinner(game.getId(), game.getWinner());
+            }
+        }
+        storedEventRepository.saveAll(storedEvents);
+
+        for (Long id : snapshotIds)
+            takeSnapshot(id);
+
+        return conflicting;
+    }
+
+
+    @Override
+    public List<Turn> findTurns(Long id, int from, int size) {
+        final List<Turn> turns = new ArrayList<>();
+
+        for (TurnPlayed turnPlayed : loadState(id).getTurns()) {
+            if (turns.size() == size)
+                break;
+            if (turnPlayed.turn() > from)
+                turns.add(toTurn(turnPlayed, null));
+        }
+        return turns;
+    }
+
+
+    /**
+     * Like findById() every game is detached before the events are replayed on it
+     */
+
+    @Override
+    public void forEach(Consumer<Game> consumer) {
+        try (Stream<Game> games = gameRepository.streamAll()) {
+            games.forEach(game -> {
+                entityManager.detach(game);
+                replay(game, loadState(game.getId()));
+                consumer.accept(game);
+            });
+        }
+    }
+
+
+    @Override
+    public void delete(Long id) {
+        storedEventRepository.deleteByGameId(id);
+        gameSnapshotRepository.findById(id).ifPresent(gameSnapshotRepository::delete);
+        gameRepository.deleteById(id);
+    }
+
+
+    /**
+     * Folds the previous snapshot and the events which got appended since into a new snapshot
+     *
+     * @param id - The id of the game
+     */
+
+    private void takeSnapshot(Long id) {
+        final GameSnapshot previous = gameSnapshotRepository.findById(id).orElse(null);
+
+        final GameState state = previous != null ? read(previous.getPayload(), GameState.class) : new GameState();
+        Long lastEventId = previous != null ? previous.getLastEventId() : 0L;
+
+        for (StoredEvent storedEvent : storedEventRepository.findByGameIdAndIdGreaterThanOrderByIdAsc(id, lastEventId)) {
+            state.apply(toEvent(storedEvent));
+            lastEventId = storedEvent.getId();
+        }
+        gameSnapshotRepository.save(new GameSnapshot(id, lastEventId, write(state)));
+    }
+
+
+    /**
+     * Rebuilds the state of a game from its latest snapshot and the events appended afterwards
+     *
+     * @param id - The id of the game
+     *
+     * @return The current state of the game
+     */
+
+    private GameState loadState(Long id) {
+        final GameSnapshot snapshot = gameSnapshotRepository.findById(id).orElse(null);
+
+        final GameState state = snapshot != null ? read(snapshot.getPayload(), GameState.class) : new GameState();
+        final Long LAST_EVENT_ID = snapshot != null ? snapshot.getLastEventId() : 0L;
+
+        for (StoredEvent storedEvent : storedEventRepository.findByGameIdAndIdGreaterThanOrderByIdAsc(id, LAST_EVENT_ID))
+            state.apply(toEvent(storedEvent));
+        return state;
+    }
+
+
+    /**
+     * Puts the turns, destroyed ships and winner of the state onto the loaded game row
+     *
+     * @param game  - The game without any turns
+     * @param state - The state of the game
+     */
+
+    private void replay(Game game, GameState state) {
+        final List<Turn> turns = new ArrayList<>(state.getTurns().size());
+        for (TurnPlayed turnPlayed : state.getTurns())
+            turns.add(toTurn(turnPlayed, game));
+        game.setTurns(turns);
+
+        for (ShipSunk shipSunk : state.getSunkShips()) {
+            final Field field = shipSunk.owner().equals(Player.PLAYER_ONE) ? game.getFieldPlayerOne() : game.getFieldPlayerTwo();
+
+            for (Ship ship : field.getShips()) {
+                if (
+                        ship.getShipType().equals(shipSunk.shipType()) &&
+                        ship.getOrientation().equals(shipSunk.orientation()) &&
+                        ship.getCoordinates().equals(Coordinates.of(shipSunk.x(), shipSunk.y()))
+                )
+                    ship.setIsDestroyed(true);
+            }
+        }
+        game.setWinner(state.getWinner());
+    }
+
+
+    private Turn toTurn(TurnPlayed turnPlayed, Game game) {
+        return new Turn(null, turnPlayed.turn(), turnPlayed.player(), Coordinates.of(turnPlayed.x(), turnPlayed.y()), turnPlayed.hit(), game);
+    }
+
+
+    private StoredEvent toStoredEvent(Long id, GameEvent event) {
+        return new StoredEvent(null, id, event.name(), write(event));
+    }
+
+
+    private GameEvent toEvent(StoredEvent storedEvent) {
+        return switch (storedEvent.getType()) {
+            case "TurnPlayed" -> read(storedEvent.getPayload(), TurnPlayed.class);
+            case "ShipSunk"   -> read(storedEvent.getPayload(), ShipSunk.class);
+            case "GameWon"    -> read(storedEvent.getPayload(), GameWon.class);
+            default -> throw new IllegalStateException("Unknown event type " + storedEvent.getType() + " of event " + storedEvent.getId());
+        };
+    }
+
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+
+    private <T> T read(String payload, Class<T> type) {
+        try {
+            return objectMapper.readValue(payload, type);
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+
+    /**
+     * Everything the events of a game add up to - this is what a snapshot contains
+     */
+
+    @Getter
+    @Setter
+    private static final class GameState {
+
+        private List<TurnPlayed> turns = new ArrayList<>();
+
+        private List<ShipSunk> sunkShips = new ArrayList<>();
+
+        private Player winner;
+
+
+        void apply(GameEvent event) {
+            if (event instanceof TurnPlayed turnPlayed)
+                turns.add(turnPlayed);
+            else if (event instanceof ShipSunk shipSunk)
+                sunkShips.add(shipSunk);
+            else if (event instanceof GameWon gameWon)
+                winner = gameWon.winner();
+        }
+
+    }
+
+}
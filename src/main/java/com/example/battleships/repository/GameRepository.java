@@ -1,9 +1,69 @@
 package com.example.battleships.repository;
 
+import com.example.battleships.dto.GameSummaryDto;
 import com.example.battleships.entity.Game;
+import com.example.battleships.enumeration.Difficulty;
+import com.example.battleships.enumeration.Player;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
 @Repository
 public interface GameRepository extends CrudRepository<Game, Long> {
+
+    @EntityGraph(attributePaths = "turns")
+    Optional<Game> findWithTurnsById(Long id);
+
+    @Query(
+        value = "SELECT new com.example.battleships.dto.GameSummaryDto(game.id, game.difficulty, game.winner, COALESCE(game.turnCount, SIZE(game.turns))) FROM Game game " +
+                "WHERE (:difficulty IS NULL OR game.difficulty = :difficulty) " +
+                "AND (:winner IS NULL OR game.winner = :winner) " +
+                "AND (:inProgress IS NULL OR (:inProgress = TRUE AND game.winner IS NULL) OR (:inProgress = FALSE AND game.winner IS NOT NULL))",
+        countQuery = "SELECT COUNT(game) FROM Game game " +
+                "WHERE (:difficulty IS NULL OR game.difficulty = :difficulty) " +
+                "AND (:winner IS NULL OR game.winner = :winner) " +
+                "AND (:inProgress IS NULL OR (:inProgress = TRUE AND game.winner IS NULL) OR (:inProgress = FALSE AND game.winner IS NOT NULL))"
+    )
+    Page<GameSummaryDto> findSummaries(
+            @Param("difficulty") Difficulty difficulty,
+            @Param("winner") Player winner,
+            @Param("inProgress") Boolean inProgress,
+            Pageable pageable
+    );
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "100"))
+    @Query("SELECT game FROM Game game ORDER BY game.id")
+    Stream<Game> streamAll();
+
+    @Query("SELECT game.id FROM Game game WHERE game.winner IS NOT NULL AND game.id > :after ORDER BY game.id")
+    List<Long> findFinishedIds(@Param("after") Long after, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Game game SET game.winner = :winner WHERE game.id = :id")
+    void updateWinner(@Param("id") Long id, @Param("winner") Player winner);
+
+    @Modifying
+    @Query("UPDATE Game game SET game.version = COALESCE(game.version, 0) + 1, game.turnCount = :turnCount WHERE game.id = :id AND COALESCE(game.version, 0) = :version")
+    int incrementVersion(@Param("id") Long id, @Param("version") Long version, @Param("turnCount") Integer turnCount);
+
+    @Query("SELECT game.encoded FROM Game game WHERE game.id = :id")
+    byte[] findEncodedById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Game game SET game.encoded = :encoded WHERE game.id = :id")
+    void updateEncoded(@Param("id") Long id, @Param("encoded") byte[] encoded);
+
 }
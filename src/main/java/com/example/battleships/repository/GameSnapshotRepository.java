@@ -0,0 +1,9 @@
+package com.example.battleships.repository;
+
+import com.example.battleships.entity.GameSnapshot;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GameSnapshotRepository extends CrudRepository<GameSnapshot, Long> {
+}
@@ -0,0 +1,82 @@
+package com.example.battleships.repository;
+
+import com.example.battleships.cache.PendingWrites;
+import com.example.battleships.entity.Game;
+import com.example.battleships.entity.Turn;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Persists the games behind the game cache
+ * The backend is chosen with battleship.persistence.backend - either the JPA entity graph or an append-only event log
+ */
+public interface GameStore {
+
+    /**
+     * Loads the whole game including its turns, destroyed ships and winner
+     *
+     * @param id - The id of the game
+     *
+     * @return The game or an empty optional if there is no such game
+     */
+
+    Optional<Game> findById(Long id);
+
+
+    /**
+     * Saves the whole game graph - used when a game gets created or its ships get placed
+     *
+     * @param game - The game which should be saved
+     *
+     * @return The persisted game
+     */
+
+    Game save(Game game);
+
+
+    /**
+     * Writes what happened in the games since their last write, has to be called inside a transaction
+     * A game is only written if its version did not change since it was loaded
+     *
+     * @param batch - The pending writes of the games
+     *
+     * @return The games which were not written because someone else changed them in the meantime
+     */
+
+    List<Game> write(List<PendingWrites> batch);
+
+
+    /**
+     * Gets the turns of a game which were played after the given turn in the order they were played
+     *
+     * @param id   - The id of the game
+     * @param from - The last turn which should be skipped
+     * @param size - The maximum amount of turns
+     *
+     * @return The following turns of the game
+     */
+
+    List<Turn> findTurns(Long id, int from, int size);
+
+
+    /**
+     * Hands every persisted game one after another to the consumer, has to be called inside a transaction
+     * Every game is complete while it is consumed and detached afterwards, so the persistence context does not grow
+     *
+     * @param consumer - The consumer which gets every game
+     */
+
+    void forEach(Consumer<Game> consumer);
+
+
+    /**
+     * Deletes the game with everything that belongs to it, has to be called inside a transaction
+     *
+     * @param id - The id of the game
+     */
+
+    void delete(Long id);
+
+}
@@ -0,0 +1,109 @@
+package com.example.battleships.repository;
+
+import com.example.battleships.cache.PendingWrites;
+import com.example.battleships.entity.Game;
+import com.example.battleships.entity.Turn;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "battleship.persistence.backend", havingValue = "jpa", matchIfMissing = true)
+public final class JpaGameStore implements GameStore {
+
+    private final GameRepository gameRepository;
+
+    private final TurnRepository turnRepository;
+
+    private final ShipRepository shipRepository;
+
+    private final EntityManager entityManager;
+
+
+    @Override
+    public Optional<Game> findById(Long id) {
+        return gameRepository.findWithTurnsById(id);
+    }
+
+
+    /**
+     * The turns of the merged game are loaded right away, the game is cached long after the entity manager which merged it is closed
+     */
+
+    @Override
+    public Game save(Game game) {
+        final Game savedGame = gameRepository.save(game);
+        Hibernate.initialize(savedGame.getTurns());
+        return savedGame;
+    }
+
+
+    /**
+     * Inserts the new turns of all games at once and marks the destroyed ships with a single update
+     */
+
+    @Override
+    public List<Game> write(List<PendingWrites> batch) {
+        final List<Game> conflicting = new ArrayList<>();
+
+        final List<Turn> turns = new ArrayList<>();
+        final List<Long> destroyedShipIds = new ArrayList<>();
+
+        for (PendingWrites pendingWrites : batch) {
+            final Game game = pendingWrites.getGame();
+            final int TURN_COUNT = game.getTurns().size();
+
+            if (gameRepository.incrementVersion(game.getId(), game.getVersion(), TURN_COUNT) == 0) {
+                conflicting.add(game);
+                continue;
+            }
+            game.setTurnCount(TURN_COUNT);
+            turns.addAll(pendingWrites.getTurns());
+            pendingWrites.getDestroyedShips().forEach(ship -> destroyedShipIds.add(ship.getId()));
+
+            if (pendingWrites.isWinnerChanged())
+                gameRepository.updateWinner(game.getId(), game.getWinner());
+        }
+        turnRepository.saveAll(turns);
+
+        if (!destroyedShipIds.isEmpty())
+            shipRepository.markAsDestroyed(destroyedShipIds);
+
+        return conflicting;
+    }
+
+
+    @Override
+    public List<Turn> findTurns(Long id, int from, int size) {
+        return turnRepository.findByGameIdAndTurnGreaterThanOrderByTurnAsc(id, from, PageRequest.of(0, size));
+    }
+
+
+    @Override
+    public void forEach(Consumer<Game> consumer) {
+        try (Stream<Game> games = gameRepository.streamAll()) {
+            games.forEach(game -> {
+                consumer.accept(game);
+                entityManager.detach(game);
+            });
+        }
+    }
+
+
+    @Override
+    public void delete(Long id) {
+        turnRepository.deleteByGameId(id);
+        gameRepository.deleteById(id);
+    }
+
+}
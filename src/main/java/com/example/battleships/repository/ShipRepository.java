@@ -1,9 +1,19 @@
 package com.example.battleships.repository;
 
 import com.example.battleships.entity.Ship;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+
 @Repository
 public interface ShipRepository extends CrudRepository<Ship, Long> {
+
+    @Modifying
+    @Query("UPDATE Ship ship SET ship.isDestroyed = true WHERE ship.id IN :ids")
+    void markAsDestroyed(@Param("ids") Collection<Long> ids);
+
 }
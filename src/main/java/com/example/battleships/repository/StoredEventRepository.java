@@ -0,0 +1,21 @@
+package com.example.battleships.repository;
+
+import com.example.battleships.entity.StoredEvent;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StoredEventRepository extends CrudRepository<StoredEvent, Long> {
+
+    List<StoredEvent> findByGameIdAndIdGreaterThanOrderByIdAsc(Long gameId, Long id);
+
+    @Modifying
+    @Query("DELETE FROM StoredEvent storedEvent WHERE storedEvent.gameId = :gameId")
+    void deleteByGameId(@Param("gameId") Long gameId);
+
+}
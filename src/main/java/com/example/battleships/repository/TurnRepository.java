@@ -1,9 +1,22 @@
 package com.example.battleships.repository;
 
 import com.example.battleships.entity.Turn;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface TurnRepository extends CrudRepository<Turn, Long> {
-}
\ No newline at end of file
+
+    List<Turn> findByGameIdAndTurnGreaterThanOrderByTurnAsc(Long gameId, Integer turn, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Turn turn WHERE turn.game.id = :gameId")
+    void deleteByGameId(@Param("gameId") Long gameId);
+
+}
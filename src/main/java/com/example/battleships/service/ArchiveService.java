@@ -0,0 +1,99 @@
+package com.example.battleships.service;
+
+import com.example.battleships.archive.GameArchive;
+import com.example.battleships.entity.Game;
+import com.example.battleships.repository.GameRepository;
+import com.example.battleships.repository.GameStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Slf4j
+@Service
+public final class ArchiveService {
+
+    private static final int PAGE_SIZE = 100;
+
+    private final GameRepository gameRepository;
+    private final GameStore gameStore;
+    private final GameArchive gameArchive;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean purge;
+
+    private final Counter archived;
+    private final Counter purged;
+
+
+    public ArchiveService(
+            GameRepository gameRepository,
+            GameStore gameStore,
+            GameArchive gameArchive,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${battleship.archive.purge:false}") boolean purge
+    ) {
+        this.gameRepository      = gameRepository;
+        this.gameStore           = gameStore;
+        this.gameArchive         = gameArchive;
+        this.transactionTemplate = transactionTemplate;
+        this.purge               = purge;
+
+        this.archived = Counter.builder("battleship.archive.games").tag("action", "archived").register(meterRegistry);
+        this.purged   = Counter.builder("battleship.archive.games").tag("action", "purged").register(meterRegistry);
+    }
+
+
+    /**
+     * Moves every finished game which is not archived yet into the game archive
+     * Finished games are never written again, so the archived copy stays valid - with purging enabled they are deleted from the database afterwards
+     * Purged games are only found by their id, the summaries and the export only cover the games of the database
+     */
+
+    @Scheduled(fixedDelayString = "${battleship.archive.interval-ms:60000}")
+    public void archiveFinishedGames() {
+        if (!gameArchive.isEnabled())
+            return;
+
+        Long after = 0L;
+        List<Long> ids;
+        do {
+            ids = gameRepository.findFinishedIds(after, PageRequest.of(0, PAGE_SIZE));
+
+            for (Long id : ids) {
+                try {
+                    archive(id);
+                } catch (RuntimeException exception) {
+                    log.error("Could not archive game {}, retrying with the next run", id, exception);
+                }
+            }
+            if (!ids.isEmpty())
+                after = ids.get(ids.size() - 1);
+        } while (ids.size() == PAGE_SIZE);
+    }
+
+
+    private void archive(Long id) {
+        if (!gameArchive.contains(id)) {
+            final Game game = gameStore.findById(id).orElse(null);
+            if (game == null)
+                return;
+
+            gameArchive.append(game);
+            archived.increment();
+        }
+        if (purge) {
+            transactionTemplate.executeWithoutResult(status -> gameStore.delete(id));
+            purged.increment();
+        }
+    }
+
+}
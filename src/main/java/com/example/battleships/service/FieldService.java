@@ -1,8 +1,11 @@
 package com.example.battleships.service;
 
-import com.example.battleships.config.GameConfig;
+import com.example.battleships.board.BitBoard;
+import com.example.battleships.board.BoardGeometry;
 import com.example.battleships.entity.Coordinates;
 import com.example.battleships.entity.Field;
+import com.example.battleships.entity.Rules;
+import com.example.battleships.entity.Ship;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -35,21 +38,59 @@ public final class FieldService {
      * This is the inverse function of getCoordinatesWithShip()
      *
      * @param field Field - The field which should be searched for water quadrants
+     * @param rules       - The rules of the game with the size of the field
      *
      * @return The coordinates which are occupied by water
      */
 
-    public Set<Coordinates> getCoordinatesWithWater(Field field) {
+    public Set<Coordinates> getCoordinatesWithWater(Field field, Rules rules) {
         final Set<Coordinates> SHIP_COORDINATES = getCoordinatesWithShips(field);
         final Set<Coordinates> waterCoordinates = new HashSet<>();
 
-        for (int x = 1; x <= GameConfig.WIDTH; x++) {
-            for (int y = 1; y <= GameConfig.HEIGHT; y++) {
-                waterCoordinates.add(new Coordinates(x, y));
+        for (int x = 1; x <= rules.getWidth(); x++) {
+            for (int y = 1; y <= rules.getHeight(); y++) {
+                waterCoordinates.add(Coordinates.of(x, y));
             }
         }
         waterCoordinates.removeAll(SHIP_COORDINATES);
         return waterCoordinates;
     }
 
+
+    /**
+     * Gets a mask of every cell which is occupied by a ship on the given field
+     *
+     * @param field    - The field which the ship cells should get extracted from
+     * @param geometry - The geometry of the board of the field
+     *
+     * @return A new mask of the occupied cells
+     */
+
+    public BitBoard getShipMask(Field field, BoardGeometry geometry) {
+        final BitBoard shipMask = new BitBoard(geometry.size());
+
+        for (Ship ship : field.getShips())
+            shipMask.or(shipService.getShipMask(ship, geometry));
+        return shipMask;
+    }
+
+
+    /**
+     * Gets a mask of every cell which is not occupied by a ship and is therefore water
+     * This is the inverse function of getShipMask()
+     *
+     * @param field    - The field which should be searched for water cells
+     * @param geometry - The geometry of the board of the field
+     *
+     * @return A new mask of the water cells
+     */
+
+    public BitBoard getWaterMask(Field field, BoardGeometry geometry) {
+        final BitBoard waterMask = new BitBoard(geometry.size());
+
+        waterMask.copyFrom(geometry.full());
+        waterMask.andNot(getShipMask(field, geometry));
+        return waterMask;
+    }
+
 }
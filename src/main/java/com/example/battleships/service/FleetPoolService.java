@@ -0,0 +1,156 @@
+package com.example.battleships.service;
+
+import com.example.battleships.board.BitBoard;
+import com.example.battleships.board.BoardGeometry;
+import com.example.battleships.dto.FleetValidationDto;
+import com.example.battleships.entity.Rules;
+import com.example.battleships.entity.Ship;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Service
+public final class FleetPoolService {
+
+    // the refill waits this long after a failed fleet, doubled with every further failure in a row
+    private static final long INITIAL_BACKOFF_MILLIS = 100;
+    private static final long MAX_BACKOFF_MILLIS     = 60_000;
+
+    private final KIService kiService;
+    private final ValidationService validationService;
+
+    private final int size;
+
+    // only fleets of the classic rules are pooled, every other fleet is placed when it is needed - never handed out, so it stays unchanged
+    private final Rules classicRules = new Rules();
+
+    // occupancy board of the fleet validation, only used by the refill thread
+    private final BitBoard refillBoard = new BitBoard(BoardGeometry.DEFAULT.size());
+
+    // null if the pool is disabled
+    private final BlockingQueue<Set<Ship>> fleets;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer refillLag;
+
+    // the moment the pool dropped below its size, 0 while the pool is full
+    private final AtomicLong belowSizeSince = new AtomicLong();
+
+    private Thread refiller;
+
+
+    public FleetPoolService(
+            KIService kiService,
+            ValidationService validationService,
+            MeterRegistry meterRegistry,
+            @Value("${battleship.fleet-pool.size:100}") int size
+    ) {
+        this.kiService         = kiService;
+        this.validationService = validationService;
+        this.size              = size;
+        this.fleets            = size > 0 ? new ArrayBlockingQueue<>(size) : null;
+
+        this.hits      = Counter.builder("battleship.fleet.pool.requests").tag("result", "hit").register(meterRegistry);
+        this.misses    = Counter.builder("battleship.fleet.pool.requests").tag("result", "miss").register(meterRegistry);
+        this.refillLag = Timer.builder("battleship.fleet.pool.refill.lag")
+                .description("Time the fleet pool spent below its size until it got refilled")
+                .register(meterRegistry);
+
+        if (fleets != null)
+            Gauge.builder("battleship.fleet.pool.size", fleets, BlockingQueue::size).register(meterRegistry);
+    }
+
+
+    @PostConstruct
+    public void start() {
+        if (fleets == null)
+            return;
+
+        refiller = new Thread(this::refill, "fleet-pool-refill");
+        refiller.setDaemon(true);
+        refiller.start();
+    }
+
+
+    @PreDestroy
+    public void stop() {
+        if (refiller != null)
+            refiller.interrupt();
+    }
+
+
+    /**
+     * Takes a pre-generated fleet of the KI out of the pool
+     * If the pool is empty or disabled or the game is not played with the classic rules the fleet is generated right away
+     *
+     * @param rules - The rules of the game
+     *
+     * @return The set of the ships
+     */
+
+    public Set<Ship> takeFleet(Rules rules) {
+        if (!classicRules.equals(rules))
+            return kiService.placeShips(rules);
+
+        final Set<Ship> fleet = fleets != null ? fleets.poll() : null;
+
+        if (fleet == null) {
+            misses.increment();
+            return kiService.placeShips(rules);
+        }
+        hits.increment();
+        belowSizeSince.compareAndSet(0, System.nanoTime());
+        return fleet;
+    }
+
+
+    /**
+     * Keeps generating fleets as long as the pool has space left
+     * Blocks while the pool is full and backs off while generating fleets keeps failing, takeFleet places the fleets itself meanwhile
+     */
+
+    private void refill() {
+        int failures = 0;
+
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                if (failures > 0)
+                    Thread.sleep(Math.min(INITIAL_BACKOFF_MILLIS << Math.min(failures - 1, 20), MAX_BACKOFF_MILLIS));
+
+                final Set<Ship> fleet = kiService.placeShips(classicRules);
+
+                final FleetValidationDto fleetValidation = validationService.validateFleet(fleet, classicRules, refillBoard);
+                if (!fleetValidation.isValid()) {
+                    log.warn("Discarding an invalid KI fleet {} - {}, failed {} times in a row", fleet, fleetValidation, ++failures);
+                    continue;
+                }
+                failures = 0;
+                fleets.put(fleet);
+
+                if (fleets.size() == size) {
+                    final long since = belowSizeSince.getAndSet(0);
+                    if (since != 0)
+                        refillLag.record(System.nanoTime() - since, TimeUnit.NANOSECONDS);
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException exception) {
+                log.error("Could not generate a KI fleet for the pool, failed {} times in a row", ++failures, exception);
+            }
+        }
+    }
+}
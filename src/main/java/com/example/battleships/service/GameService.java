@@ -1,236 +1,341 @@
 package com.example.battleships.service;
 
+import com.example.battleships.archive.GameArchive;
+import com.example.battleships.board.ShotIndex;
+import com.example.battleships.cache.GameCache;
+import com.example.battleships.cache.GameLocks;
+import com.example.battleships.codec.GameCodec;
+import com.example.battleships.dto.FleetValidationDto;
+import com.example.battleships.dto.GameSummaryDto;
+import com.example.battleships.dto.GameViewDto;
+import com.example.battleships.dto.ShotResultDto;
 import com.example.battleships.entity.*;
+import com.example.battleships.enumeration.Difficulty;
 import com.example.battleships.enumeration.Player;
+import com.example.battleships.event.*;
+import com.example.battleships.exception.GameConflictException;
+import com.example.battleships.exception.InvalidFleetException;
+import com.example.battleships.metrics.GameMetrics;
 import com.example.battleships.repository.GameRepository;
+import com.example.battleships.repository.GameStore;
 import com.example.battleships.util.DrawUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
 
 import javax.persistence.EntityNotFoundException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public final class GameService {
 
+    private static final int MAX_TURNS_PAGE_SIZE = 200;
+
+    // a shot which conflicts with a change of another instance is played again on the fresh state of the game
+    private static final int MAX_SHOOT_ATTEMPTS = 3;
+
     private final GameRepository gameRepository;
 
+    private final GameStore gameStore;
+
+    private final GameArchive gameArchive;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final GameCache gameCache;
+
+    private final GameLocks gameLocks;
+
     private final ValidationService validationService;
 
-    private final KIService kiService;
+    private final FleetPoolService fleetPoolService;
 
-    private final ShipService shipService;
+    private final ShotIndexService shotIndexService;
 
+    private final TurnService turnService;
 
-    /**
-     * Searches for all Game objects inside the Game repository
-     *
-     * @return All persisted Game objects
-     */
+    private final GameEventPublisher gameEventPublisher;
 
-    public List<Game> getAllGames() {
-        return (List<Game>) gameRepository.findAll();
-    }
+    private final GameMetrics gameMetrics;
 
 
     /**
-     * Creates a new Game object and saves it to the Game repository
+     * Searches for the games matching the given filters inside the Game repository
+     * Only a summary of every game is loaded instead of the whole game graph
+     *
+     * @param difficulty - Only games with this difficulty, null for all difficulties
+     * @param winner     - Only games won by this player, null for all games
+     * @param inProgress - Only running (true) or finished (false) games, null for both
+     * @param pageable   - The requested page
      *
-     * @return The persisted Game object with all initialized attributes
+     * @return The page of game summaries
      */
 
-    public Game createGame(Game game) {
-        return gameRepository.save(game);
+    public Page<GameSummaryDto> getGameSummaries(Difficulty difficulty, Player winner, Boolean inProgress, Pageable pageable) {
+        gameCache.writePending();
+        return gameRepository.findSummaries(difficulty, winner, inProgress, pageable);
     }
 
 
     /**
-     * Places the ships on the given game in field one
-     *
-     * @param id    - The id of the game
-     * @param ships - The ships which should be placed
+     * Hands every persisted game one after another to the consumer while they are read from the database cursor
+     * Games are detached after they got consumed so the persistence context does not grow with the export
      *
-     * @return The game which is now also populated with the ships
+     * @param consumer - The consumer which gets every game
      */
 
-    public Game placeShips(Long id, Set<Ship> ships) {
-        if (
-                validationService.areCorrectAmountOfShipsPlaced(ships) &&
-                validationService.areShipsPlacedEntirelyOnTheField(ships) &&
-                validationService.haveShipsEnoughClearance(ships)
-        ) {
-            final Game game = gameRepository.findById(id).orElseThrow(() -> new EntityNotFoundException(id.toString()));
-            game.getFieldPlayerOne().setShips(ships);
-            game.getFieldPlayerTwo().setShips(kiService.placeShips());
-
-            DrawUtil.drawFields(game);
+    public void forEachGame(Consumer<Game> consumer) {
+        gameCache.writePending();
 
-            return gameRepository.save(game);
-        }
-        return null;
+        transactionTemplate.executeWithoutResult(status -> gameStore.forEach(consumer));
     }
 
 
     /**
-     * Lets the human player (always PLAYER_ONE) shoot at the ships of the bot (always PLAYER_TWO)
+     * Gets the turns of a game which were played after the given turn in the order they were played
+     * Running games are served from the game cache, archived games from the game archive and all other games from the game store
      *
-     * @param id          - The id of the currently played game
-     * @param coordinates - The coordinates where the player wants to shoot at
+     * @param id   - The id of the game
+     * @param from - The last turn the client already knows, 0 for the whole history
+     * @param size - The maximum amount of turns which should be returned
      *
-     * @return The current game object
+     * @return The following turns of the game
      */
 
-    public Game shoot(Long id, Coordinates coordinates) {
-        final Game game = gameRepository.findById(id).orElseThrow(() -> new EntityNotFoundException(id.toString()));
-
-        // is game already over
-        if (game.getWinner() != null)
-            return null;
-
-        final Player SHOOTING_PLAYER    = getCurrentlyShootingPlayer(game);
-        final Player SHOOTING_AT_PLAYER = SHOOTING_PLAYER.equals(Player.PLAYER_ONE) ? Player.PLAYER_TWO : Player.PLAYER_ONE;
+    public List<Turn> getTurns(Long id, Integer from, Integer size) {
+        final int FROM = Math.max(from, 0);
+        final int SIZE = Math.min(Math.max(size, 1), MAX_TURNS_PAGE_SIZE);
 
-        // check if coordinates already got shot at
-        if (didCoordinatesAlreadyGotShotAt(coordinates, game))
-            return null;
+        final List<Turn> cachedTurns = gameLocks.withLock(id, () -> {
+            final Game game = gameCache.getIfPresent(id);
+            if (game == null)
+                return null;
 
-        // allow shooting - if hit get ship
-        final Ship ship = shipService.getShipFromPlayerAndCoordinates(coordinates, game, SHOOTING_AT_PLAYER);
+            // turns are ordered by Turn.turn which starts at 1 - turn n is found at index n - 1
+            final List<Turn> turns = game.getTurns();
+            return List.copyOf(turns.subList(Math.min(FROM, turns.size()), Math.min(FROM + SIZE, turns.size())));
+        });
 
-        final Turn HUMAN_TURN = new Turn(null, game.getTurns().size() + 1, SHOOTING_PLAYER, coordinates, ship != null);
-        game.getTurns().add(HUMAN_TURN);
+        if (cachedTurns != null)
+            return cachedTurns;
 
-        // additional checks if ship got hit
-        if (ship != null) {
-            if (isShipSinking(ship, game)) {
-                ship.setIsDestroyed(true);
+        final Optional<List<Turn>> archivedTurns = gameArchive.findTurns(id, FROM, SIZE);
+        if (archivedTurns.isPresent())
+            return archivedTurns.get();
+        if (!gameRepository.existsById(id))
+            throw new EntityNotFoundException(id.toString());
 
-                if (isGameWon(game))
-                    game.setWinner(SHOOTING_PLAYER);
-            }
-            return gameRepository.save(game);
-        }
+        return gameStore.findTurns(id, FROM, SIZE);
+    }
 
-        // missed - changing to ki
-        boolean hasKiHit;
-        do {
-            final Coordinates KI_SHOOT_AT_COORDINATES = kiService.shoot(game);
-            Ship kiShip = shipService.getShipFromPlayerAndCoordinates(KI_SHOOT_AT_COORDINATES, game, Player.PLAYER_ONE);
 
-            final Turn KI_TURN = new Turn(null, game.getTurns().size() + 1, Player.PLAYER_TWO, KI_SHOOT_AT_COORDINATES, kiShip != null);
-            game.getTurns().add(KI_TURN);
+    /**
+     * Encodes the game with the GameCodec as the human player is allowed to see it
+     * The unsunk ships of the KI are left out while the game is running
+     * Archived games are finished, so they are already encoded completely and get copied straight out of the game archive
+     *
+     * @param id - The id of the game
+     *
+     * @return The encoded game
+     */
 
-            if (kiShip != null) {
-                if (isShipSinking(kiShip, game)) {
-                    kiShip.setIsDestroyed(true);
+    public byte[] getEncodedGame(Long id) {
+        final Optional<ByteBuffer> archived = gameArchive.read(id);
 
-                    if (isGameWon(game)) {
-                        game.setWinner(Player.PLAYER_TWO);
-                        return gameRepository.save(game);
-                    }
-                }
-                hasKiHit = true;
-            } else {
-                hasKiHit = false;
-            }
-        } while (hasKiHit);
-        return gameRepository.save(game);
+        if (archived.isPresent()) {
+            final byte[] encoded = new byte[archived.get().remaining()];
+            archived.get().get(encoded);
+            return encoded;
+        }
+        return gameLocks.withLock(id, () -> GameCodec.encodeView(gameCache.get(id)));
     }
 
 
     /**
-     * Decides based on the turns played in the game who is allowed to make the next move
+     * Streams everything that happens in the game from the moment the returned flux gets subscribed
+     * The subscriber is only registered once the response is actually subscribed, so a client which leaves before does not leave a sink behind
      *
-     * @param game - The game which is played at the moment
+     * @param id - The id of the game
      *
-     * @return The Player who is allowed to move next
+     * @return The events of the game, completes once the game is won
      */
 
-    public Player getCurrentlyShootingPlayer(Game game) {
-        final Turn LAST_TURN = game.getTurns().stream().filter(turn -> turn.getTurn().equals(game.getTurns().size())).findFirst().orElse(null);
+    public Flux<ServerSentEvent<String>> getEvents(Long id) {
+        return Flux.defer(() -> gameLocks.withLock(id, () -> gameCache.get(id).getWinner() != null ? Flux.empty() : gameEventPublisher.subscribe(id)));
+    }
 
-        // no turns -> PLAYER_ONE begins
-        if (LAST_TURN == null)
-            return Player.PLAYER_ONE;
 
-        // player of last turn hit a ship -> shoot again
-        if (LAST_TURN.getHit())
-            return LAST_TURN.getPlayer();
+    /**
+     * Creates a new Game object and saves it to the Game repository
+     *
+     * @return The persisted Game object with all initialized attributes, null if the game can not be played with its rules
+     */
 
-        // last player missed -> switch players
-        return LAST_TURN.getPlayer().equals(Player.PLAYER_ONE) ? Player.PLAYER_TWO : Player.PLAYER_ONE;
+    public Game createGame(Game game) {
+        if (!validationService.areRulesValid(game.getRules()))
+            return null;
+
+        return gameCache.save(game);
     }
 
 
     /**
-     * Checks if the coordinates have already received a shot from the currently shooting player
+     * Places the ships on the given game in field one
      *
-     * @param coordinates - The coordinates which the player is shooting at
-     * @param game        - The current game
+     * @param id    - The id of the game
+     * @param ships - The ships which should be placed
+     *
+     * @return The game as the player sees it - built while the game is locked, so a concurrent shot can not change it halfway
      *
-     * @return Coordinates already got shot at
+     * @throws InvalidFleetException If the ships do not match the rules of the game
      */
 
-    public Boolean didCoordinatesAlreadyGotShotAt(Coordinates coordinates, Game game) {
-        final Player SHOOTING_PLAYER = getCurrentlyShootingPlayer(game);
-        final Set<Coordinates> COORDINATES_PLAYER_ALREADY_SHOT_AT = getCoordinatesPlayerAlreadyShotAt(SHOOTING_PLAYER, game);
+    public GameViewDto placeShips(Long id, Set<Ship> ships) {
+        try {
+            return gameLocks.withLock(id, () -> {
+                final Game game = gameCache.get(id);
+
+                // the rules are part of the game, so the ships can only be validated once it is loaded
+                final FleetValidationDto FLEET_VALIDATION = validationService.validateFleet(ships, game.getRules());
+                if (!FLEET_VALIDATION.isValid())
+                    throw new InvalidFleetException(id, FLEET_VALIDATION);
+
+                game.getFieldPlayerOne().setShips(ships);
+                game.getFieldPlayerTwo().setShips(fleetPoolService.takeFleet(game.getRules()));
+                shotIndexService.invalidate(game);
 
-        return COORDINATES_PLAYER_ALREADY_SHOT_AT.contains(coordinates);
+                DrawUtil.drawFields(game);
+
+                return GameViewDto.of(gameCache.save(game));
+            });
+        } catch (OptimisticLockingFailureException exception) {
+            throw new GameConflictException(id, exception);
+        }
     }
 
 
     /**
-     * Gets all coordinates which a player has already shot at
+     * Lets the human player (always PLAYER_ONE) shoot at the ships of the bot (always PLAYER_TWO)
+     * Shots at the same game are serialized, shots at different games run in parallel
+     * Without write-behind a change of another instance in the meantime is noticed right away and the shot is played again on the fresh state
+     *
+     * @param id          - The id of the currently played game
+     * @param coordinates - The coordinates where the player wants to shoot at
      *
-     * @param player - The shooting player
-     * @param game   - The current game
+     * @return What changed in the game because of the shot, null if the shot was not allowed
      *
-     * @return The coordinates which were shot at
+     * @throws GameConflictException If the shot still conflicted after the last attempt
      */
 
-    public Set<Coordinates> getCoordinatesPlayerAlreadyShotAt(Player player, Game game) {
-        return game.getTurns().stream().filter(turn -> turn.getPlayer().equals(player)).map(Turn::getCoordinates).collect(Collectors.toSet());
+    public ShotResultDto shoot(Long id, Coordinates coordinates) {
+        final long START = System.nanoTime();
+
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return gameLocks.withLock(id, () -> shootAtLockedGame(id, coordinates));
+                } catch (OptimisticLockingFailureException exception) {
+                    if (attempt == MAX_SHOOT_ATTEMPTS)
+                        throw new GameConflictException(id, exception);
+
+                    gameMetrics.recordRetry();
+                }
+            }
+        } finally {
+            gameMetrics.recordShoot(START);
+        }
     }
 
 
     /**
-     * Checks if the ship is sinking
+     * Plays the shot of the human player and the following turns of the KI
+     * Must only be called while holding the lock of the game, otherwise two requests could both shoot at the same coordinates
      *
-     * @param ship - The ship which should get checked
-     * @param game - The current game
+     * @param id          - The id of the currently played game
+     * @param coordinates - The coordinates where the player wants to shoot at
      *
-     * @return Is the ship sinking
+     * @return What changed in the game because of the shot, null if the shot was not allowed
      */
-    public Boolean isShipSinking(Ship ship, Game game) {
-        final Player SHOOTING_PLAYER = getCurrentlyShootingPlayer(game);
 
-        final Set<Coordinates> ALL_COORDINATES_OF_SHIP = shipService.getAllCoordinatesFromShip(ship);
-        final Set<Coordinates> COORDINATES_PLAYER_ALREADY_SHOT_AT = getCoordinatesPlayerAlreadyShotAt(SHOOTING_PLAYER, game);
+    private ShotResultDto shootAtLockedGame(Long id, Coordinates coordinates) {
+        final long LOAD_START = System.nanoTime();
+        final Game game = gameCache.get(id);
+        gameMetrics.recordShootLoad(LOAD_START);
+
+        final List<TurnPlayed> turns   = new ArrayList<>();
+        final List<ShipSunk> sunkShips = new ArrayList<>();
+        final List<GameEvent> events   = new ArrayList<>();
+
+        if (!turnService.playRound(game, coordinates, recordingListener(game, turns, sunkShips, events)))
+            return null;
+
+        // without write-behind the round is written before the shot is answered, a conflict discards the cached game and lets shoot() play the round again
+        final long SAVE_START = System.nanoTime();
+        gameCache.changed(id);
+        gameMetrics.recordShootSave(SAVE_START);
+
+        // a conflicting attempt throws before this point, so subscribers never see the turns of a round which is played again
+        events.forEach(event -> gameEventPublisher.publish(id, event));
 
-        return COORDINATES_PLAYER_ALREADY_SHOT_AT.containsAll(ALL_COORDINATES_OF_SHIP);
+        return new ShotResultDto(turns, sunkShips, game.getWinner());
     }
 
 
     /**
-     * Checks if the game is won
+     * Schedules everything that happens in a round for persisting and collects it for the response and the subscribers of the game
+     * The winner and all other pending changes of the game are persisted right away
      *
-     * @param game - The current game
+     * @param game      - The current game
+     * @param turns     - Collects the turns played in the round
+     * @param sunkShips - Collects the ships sunk in the round
+     * @param events    - Collects all events of the round in the order they happened, published once the round is written
      *
-     * @return Is the game won
+     * @return The listener for the round
      */
 
-    public Boolean isGameWon(Game game) {
-        final Player SHOOTING_PLAYER = getCurrentlyShootingPlayer(game);
-        final Field SHOOT_AT_FIELD = SHOOTING_PLAYER.equals(Player.PLAYER_ONE) ? game.getFieldPlayerTwo() : game.getFieldPlayerOne();
+    private TurnListener recordingListener(Game game, List<TurnPlayed> turns, List<ShipSunk> sunkShips, List<GameEvent> events) {
+        return new TurnListener() {
 
-        for (Ship ship : SHOOT_AT_FIELD.getShips()) {
-            if (!ship.getIsDestroyed())
-                return false;
-        }
-        return true;
+            @Override
+            public void turnPlayed(Turn turn) {
+                final TurnPlayed TURN_PLAYED = TurnPlayed.of(turn);
+
+                gameCache.recordTurn(game, turn);
+                turns.add(TURN_PLAYED);
+                events.add(TURN_PLAYED);
+            }
+
+
+            @Override
+            public void shipSunk(Ship ship) {
+                gameCache.recordDestroyedShip(game, ship);
+
+                // the player who sank the ship keeps shooting
+                final ShipSunk SHIP_SUNK = ShipSunk.of(ShotIndex.opponent(turnService.getCurrentlyShootingPlayer(game)), ship);
+
+                sunkShips.add(SHIP_SUNK);
+                events.add(SHIP_SUNK);
+            }
+
+
+            @Override
+            public void gameWon(Player winner) {
+                gameCache.recordWinner(game);
+                events.add(new GameWon(winner));
+            }
+
+        };
     }
 
 }
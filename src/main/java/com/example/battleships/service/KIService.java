@@ -1,132 +1,171 @@
 package com.example.battleships.service;
 
+import com.example.battleships.board.BitBoard;
+import com.example.battleships.board.BoardGeometry;
+import com.example.battleships.board.DensityTargeting;
+import com.example.battleships.board.ShotIndex;
 import com.example.battleships.config.GameConfig;
 import com.example.battleships.entity.Coordinates;
 import com.example.battleships.entity.Game;
+import com.example.battleships.entity.Rules;
 import com.example.battleships.entity.Ship;
-import com.example.battleships.entity.Turn;
-import com.example.battleships.enumeration.Orientation;
+import com.example.battleships.enumeration.Difficulty;
 import com.example.battleships.enumeration.Player;
 import com.example.battleships.enumeration.ShipType;
+import com.example.battleships.enumeration.Targeting;
+import com.example.battleships.metrics.GameMetrics;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashSet;
-import java.util.Random;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 @RequiredArgsConstructor
 public final class KIService {
 
-    private final FieldService fieldService;
-    private final ValidationService validationService;
+    private final ShotIndexService shotIndexService;
+
+    private final GameMetrics gameMetrics;
+
+    private final DensityTargeting densityTargeting = new DensityTargeting(GameConfig.KI_TIME_BUDGET_NANOS);
+
+
+    // AIRCRAFT_CARRIER -> BATTLESHIP -> DESTROYER -> SUBMARINE - the big ships are the hardest to fit in
+    private static final ShipType[] SHIP_TYPES_BY_LENGTH = Arrays.stream(ShipType.values())
+            .sorted(Comparator.comparing((ShipType shipType) -> shipType.length).reversed())
+            .toArray(ShipType[]::new);
+
+    // on a sparse board a random placement is usually free, the free placements are only collected once the board gets crowded
+    private static final int RANDOM_PLACEMENT_TRIES = 8;
+
+    // backtracking through a dense fleet can get lost after an unlucky start, starting over is cheaper
+    private static final int MAX_ATTEMPTS_PER_SHIP = 100;
+    private static final int MAX_RESTARTS = 20;
+
+    // the accuracy of a difficulty is a percentage, no matter how large the board is
+    private static final int ACCURACY_SCALE = 100;
 
 
     /**
      * The KI places its ships to be later populated on the field
+     * Every ship is placed uniformly at random on one of its precomputed placements which is still free
+     *
+     * @param rules - The rules of the game with the size of the board and the fleet
      *
      * @return The set of the ships
      */
 
-    public Set<Ship> placeShips() {
-        final Set<Ship> ships = new HashSet<>();
-        final int AMOUNT_SHIPS_TOTAL = GameConfig.ships.values().stream().mapToInt(Integer::intValue).sum();
+    public Set<Ship> placeShips(Rules rules) {
+        final long START = System.nanoTime();
+        final BoardGeometry GEOMETRY = BoardGeometry.of(rules.getWidth(), rules.getHeight());
+        final ShipType[] FLEET = fleet(rules);
 
-        while (ships.size() < AMOUNT_SHIPS_TOTAL) {
-            final ShipType    SHIP_TYPE   = this.getShipTypeToPlace(ships);
-            final Orientation ORIENTATION = this.getRandomOrientation();
+        final int[] placements = new int[FLEET.length];
+        final BitBoard[] blocked = new BitBoard[FLEET.length + 1];
+        final int[] attempts = new int[1];
 
-            ships.add(
-                getValidPlacementForShip(
-                    new Ship(null, ORIENTATION, SHIP_TYPE, new Coordinates(), false), ships
-                )
-            );
+        for (int ship = 0; ship <= FLEET.length; ship++)
+            blocked[ship] = new BitBoard(GEOMETRY.size());
+
+        for (int restart = 0; !placeShip(GEOMETRY, FLEET, 0, placements, blocked, attempts, attempts[0] + FLEET.length * MAX_ATTEMPTS_PER_SHIP); restart++) {
+            if (restart == MAX_RESTARTS)
+                throw new IllegalStateException("The fleet does not fit on the field");
+        }
+
+        final Set<Ship> ships = new HashSet<>();
+        for (int ship = 0; ship < FLEET.length; ship++) {
+            final int CELL = GEOMETRY.cell(placements[ship]);
+            ships.add(new Ship(null, GEOMETRY.orientation(placements[ship]), FLEET[ship], Coordinates.of(GEOMETRY.x(CELL), GEOMETRY.y(CELL)), false));
         }
+        gameMetrics.recordPlacement(START, attempts[0]);
         return ships;
     }
 
 
     /**
-     * Decides which ship should be placed next
-     * AIRCRAFT_CARRIER -> BATTLESHIP -> DESTROYER -> SUBMARINE
-     *
-     * @param ships - The current set of ships
+     * @param rules - The rules of the game
      *
-     * @return The ShipType which should be placed next
+     * @return The ship types of the whole fleet, the longest ships first
      */
 
-    private ShipType getShipTypeToPlace(Set<Ship> ships) {
-        final int AMOUNT_DESTROYER        = GameConfig.ships.get(ShipType.DESTROYER);
-        final int AMOUNT_BATTLESHIP       = GameConfig.ships.get(ShipType.BATTLESHIP);
-        final int AMOUNT_AIRCRAFT_CARRIER = GameConfig.ships.get(ShipType.AIRCRAFT_CARRIER);
-
-        final long PLACED_DESTROYER_COUNT        = ships.stream().filter(ship -> ship.getShipType().equals(ShipType.DESTROYER)).count();
-        final long PLACED_BATTLESHIP_COUNT       = ships.stream().filter(ship -> ship.getShipType().equals(ShipType.BATTLESHIP)).count();
-        final long PLACED_AIRCRAFT_CARRIER_COUNT = ships.stream().filter(ship -> ship.getShipType().equals(ShipType.AIRCRAFT_CARRIER)).count();
-
-        if (PLACED_AIRCRAFT_CARRIER_COUNT < AMOUNT_AIRCRAFT_CARRIER) {
-            return ShipType.AIRCRAFT_CARRIER;
-        } else if (PLACED_BATTLESHIP_COUNT < AMOUNT_BATTLESHIP) {
-            return ShipType.BATTLESHIP;
-        } else if (PLACED_DESTROYER_COUNT < AMOUNT_DESTROYER) {
-            return ShipType.DESTROYER;
-        } else {
-            return ShipType.SUBMARINE;
+    private static ShipType[] fleet(Rules rules) {
+        final ShipType[] fleet = new ShipType[rules.getFleetSize()];
+        int ship = 0;
+
+        for (ShipType shipType : SHIP_TYPES_BY_LENGTH) {
+            for (int count = 0; count < rules.getShipCount(shipType); count++)
+                fleet[ship++] = shipType;
         }
+        return fleet;
     }
 
 
     /**
-     * Get a random orientation for the ship
+     * Places the ship and all following ships of the fleet
+     * If a ship does not fit anymore the previous ship is moved to another free placement
      *
-     * @return The random orientation
+     * @param geometry    - The geometry of the board
+     * @param fleet       - The ship types of the fleet in the order they are placed
+     * @param ship        - The position of the ship inside the fleet
+     * @param placements  - The chosen placement of every ship
+     * @param blocked     - The clearance of all ships placed before the ship with the same position
+     * @param attempts    - Counts every placement which gets tried
+     * @param maxAttempts - The attempts after which the placement gives up
+     *
+     * @return If all following ships could be placed
      */
 
-    private Orientation getRandomOrientation() {
-        return Orientation.values()[new Random().nextInt(Orientation.values().length)];
-    }
+    private boolean placeShip(BoardGeometry geometry, ShipType[] fleet, int ship, int[] placements, BitBoard[] blocked, int[] attempts, int maxAttempts) {
+        if (ship == fleet.length)
+            return true;
 
+        final int[] LEGAL_PLACEMENTS = geometry.legalPlacements(fleet[ship]);
+        if (LEGAL_PLACEMENTS.length == 0)
+            return false;
 
-    /**
-     * Finds a valid placement for the given ship and avoids collision with other ships
-     *
-     * @param ship  - The ship which should be placed
-     * @param ships - The other ships which are already planned for placement
-     *
-     * @return The given ship stored with the new valid coordinates
-     */
+        // uniform among the free placements as well - a blocked pick is simply drawn again
+        for (int tries = 0; tries < RANDOM_PLACEMENT_TRIES; tries++) {
+            final int PLACEMENT = LEGAL_PLACEMENTS[ThreadLocalRandom.current().nextInt(LEGAL_PLACEMENTS.length)];
 
-    private Ship getValidPlacementForShip(Ship ship, Set<Ship> ships) {
+            if (!geometry.footprint(PLACEMENT).intersects(blocked[ship])) {
+                if (tryPlacement(geometry, fleet, ship, PLACEMENT, placements, blocked, attempts, maxAttempts))
+                    return true;
+                break;
+            }
+        }
 
-        // calculate max x and y based on orientation
-        int maxX = GameConfig.WIDTH;
-        int maxY = GameConfig.HEIGHT;
+        final int[] free = new int[LEGAL_PLACEMENTS.length];
+        int freeCount = 0;
 
-        if (ship.getOrientation().equals(Orientation.HORIZONTAL)) {
-            maxX -= ship.getShipType().length - 1;
-        } else {
-            maxY -= ship.getShipType().length - 1;
+        for (int placement : LEGAL_PLACEMENTS) {
+            if (!geometry.footprint(placement).intersects(blocked[ship]))
+                free[freeCount++] = placement;
         }
 
-        // find random position
-        final int RANDOM_X = new Random().nextInt(maxX) + 1;
-        final int RANDOM_Y = new Random().nextInt(maxY) + 1;
+        while (freeCount > 0 && attempts[0] < maxAttempts) {
+            final int PICK = ThreadLocalRandom.current().nextInt(freeCount);
+            final int PLACEMENT = free[PICK];
+            free[PICK] = free[--freeCount];
 
-        // move ship until it found a valid position
-        for (int ix = 0; ix < maxX; ix++) {
-            final int X = ((RANDOM_X + ix) % maxX) + 1;
+            if (tryPlacement(geometry, fleet, ship, PLACEMENT, placements, blocked, attempts, maxAttempts))
+                return true;
+        }
+        return false;
+    }
 
-            for (int iy = 0; iy < maxY; iy++) {
-                final int Y = ((RANDOM_Y + iy) % maxY) + 1;
 
-                ship.setCoordinates(new Coordinates(X, Y));
-                if (validationService.isShipPlacementValid(ship, ships))
-                    return ship;
-            }
-        }
-        return null;
+    private boolean tryPlacement(BoardGeometry geometry, ShipType[] fleet, int ship, int placement, int[] placements, BitBoard[] blocked, int[] attempts, int maxAttempts) {
+        placements[ship] = placement;
+        attempts[0]++;
+
+        blocked[ship + 1].copyFrom(blocked[ship]);
+        blocked[ship + 1].or(geometry.clearance(placement));
+
+        return placeShip(geometry, fleet, ship + 1, placements, blocked, attempts, maxAttempts);
     }
 
 
@@ -140,42 +179,62 @@ public final class KIService {
      */
 
     public Coordinates shoot(Game game) {
-        final Set<Coordinates> SHIP_COORDINATES  = fieldService.getCoordinatesWithShips(game.getFieldPlayerOne());
-        final Set<Coordinates> WATER_COORDINATES = fieldService.getCoordinatesWithWater(game.getFieldPlayerOne());
+        return shoot(game, Player.PLAYER_TWO, game.getDifficulty());
+    }
 
-        final Set<Coordinates> shotAt = getAllShotCoordinatesByPlayer(game, Player.PLAYER_TWO);
 
-        final Set<Coordinates> unharmedShipCoordinates  = new HashSet<>(SHIP_COORDINATES);
-        final Set<Coordinates> unharmedWaterCoordinates = new HashSet<>(WATER_COORDINATES);
+    /**
+     * Lets a KI with the given difficulty shoot for any of the two players
+     * This allows games in which both players are played by the KI
+     *
+     * @param game       - The game which is beeing played
+     * @param shooter    - The player the KI is shooting for
+     * @param difficulty - The difficulty of the KI
+     *
+     * @return The coordinates which the ki decided to shoot at
+     */
 
-        unharmedShipCoordinates.removeAll(shotAt);
-        unharmedWaterCoordinates.removeAll(shotAt);
+    public Coordinates shoot(Game game, Player shooter, Difficulty difficulty) {
+        final long START = System.nanoTime();
+        final Coordinates coordinates = chooseTarget(game, shooter, difficulty);
 
-        final int SUM_COORDINATES = GameConfig.WIDTH * GameConfig.HEIGHT;
+        gameMetrics.recordKiShot(difficulty, START);
+        return coordinates;
+    }
 
-        final int ACCURACY = game.getDifficulty().accuracy;
-        final int RANDOM = new Random().nextInt(SUM_COORDINATES) + 1;
 
-        // shoot at ships if RANDOM <= ACCURACY and there are still ships to be shot at
-        if (RANDOM <= ACCURACY && unharmedShipCoordinates.size() > 0) {
-            return unharmedShipCoordinates.stream().toList().get(new Random().nextInt(unharmedShipCoordinates.size()));
-        } else {
-            return unharmedWaterCoordinates.stream().toList().get(new Random().nextInt(unharmedWaterCoordinates.size()));
+    private Coordinates chooseTarget(Game game, Player shooter, Difficulty difficulty) {
+        final ShotIndex SHOT_INDEX = shotIndexService.getShotIndex(game);
+
+        if (!difficulty.targeting.equals(Targeting.ACCURACY)) {
+            final int CELL = densityTargeting.target(
+                    SHOT_INDEX.getGeometry(),
+                    SHOT_INDEX.getKnowledge(shooter),
+                    SHOT_INDEX.getShots(shooter),
+                    difficulty.targeting.equals(Targeting.DENSITY_MAXIMUM)
+            );
+            return Coordinates.of(SHOT_INDEX.getGeometry().x(CELL), SHOT_INDEX.getGeometry().y(CELL));
         }
-    }
 
+        final BitBoard SHIP_MASK  = SHOT_INDEX.getFleet(ShotIndex.opponent(shooter));
+        final BitBoard WATER_MASK = SHOT_INDEX.getWater(ShotIndex.opponent(shooter));
 
-    /**
-     * Gets all coordinates the given player already shot at
-     *
-     * @param game      - The game which is currently played
-     * @param player    - The player which shots should be collected
-     *
-     * @return The coordinates the player already shot at
-     */
+        final BitBoard shotAt = SHOT_INDEX.getShots(shooter);
+
+        final int UNHARMED_SHIP_COUNT  = SHIP_MASK.cardinalityAndNot(shotAt);
+        final int UNHARMED_WATER_COUNT = WATER_MASK.cardinalityAndNot(shotAt);
 
-    public Set<Coordinates> getAllShotCoordinatesByPlayer(Game game, Player player) {
-        return game.getTurns().stream().filter(turn -> turn.getPlayer().equals(player)).map(Turn::getCoordinates).collect(Collectors.toSet());
+        final int ACCURACY = difficulty.accuracy;
+        final int RANDOM = ThreadLocalRandom.current().nextInt(ACCURACY_SCALE) + 1;
+
+        // shoot at ships if RANDOM <= ACCURACY or all water is used up and there are still ships to be shot at
+        final int INDEX;
+        if ((RANDOM <= ACCURACY || UNHARMED_WATER_COUNT == 0) && UNHARMED_SHIP_COUNT > 0) {
+            INDEX = SHIP_MASK.nthSetBitAndNot(shotAt, ThreadLocalRandom.current().nextInt(UNHARMED_SHIP_COUNT));
+        } else {
+            INDEX = WATER_MASK.nthSetBitAndNot(shotAt, ThreadLocalRandom.current().nextInt(UNHARMED_WATER_COUNT));
+        }
+        return Coordinates.of(SHOT_INDEX.getGeometry().x(INDEX), SHOT_INDEX.getGeometry().y(INDEX));
     }
 
 }
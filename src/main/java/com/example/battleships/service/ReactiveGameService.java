@@ -0,0 +1,163 @@
+package com.example.battleships.service;
+
+import com.example.battleships.board.ShotIndex;
+import com.example.battleships.dto.FleetValidationDto;
+import com.example.battleships.dto.GameViewDto;
+import com.example.battleships.dto.ShotResultDto;
+import com.example.battleships.entity.Coordinates;
+import com.example.battleships.entity.Game;
+import com.example.battleships.entity.Ship;
+import com.example.battleships.entity.Turn;
+import com.example.battleships.enumeration.Player;
+import com.example.battleships.event.ShipSunk;
+import com.example.battleships.event.TurnPlayed;
+import com.example.battleships.exception.InvalidFleetException;
+import com.example.battleships.store.ReactiveGameStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Plays games by the same rules as GameService, but keeps them in the in-memory ReactiveGameStore instead of the database
+ */
+@Service
+@RequiredArgsConstructor
+public final class ReactiveGameService {
+
+    private final ReactiveGameStore gameStore;
+
+    private final ValidationService validationService;
+
+    private final FleetPoolService fleetPoolService;
+
+    private final ShotIndexService shotIndexService;
+
+    private final TurnService turnService;
+
+
+    /**
+     * @param id - The id of the game
+     *
+     * @return The game as the player sees it, taken on the stripe of the game so it is not changed while it is copied
+     */
+
+    public Mono<GameViewDto> getGame(Long id) {
+        return gameStore.read(id, GameViewDto::of);
+    }
+
+
+    /**
+     * Streams the turns of the game as they are played
+     *
+     * @param id - The id of the game
+     *
+     * @return All turns played so far followed by the new ones, completes once the game has a winner
+     */
+
+    public Flux<Turn> getTurns(Long id) {
+        return gameStore.turns(id);
+    }
+
+
+    /**
+     * @param game - The game which should be created
+     *
+     * @return The created game as the player sees it, empty if the game can not be played with its rules
+     */
+
+    public Mono<GameViewDto> createGame(Game game) {
+        if (!validationService.areRulesValid(game.getRules()))
+            return Mono.empty();
+
+        return gameStore.create(game).map(GameViewDto::of);
+    }
+
+
+    /**
+     * Places the ships on the given game in field one and lets the KI place its ships in field two
+     *
+     * @param id    - The id of the game
+     * @param ships - The ships which should be placed
+     *
+     * @return The game as the player sees it - without the fleet of the KI, an InvalidFleetException if the ships do not match the rules of the game
+     */
+
+    public Mono<GameViewDto> placeShips(Long id, Set<Ship> ships) {
+        return gameStore.update(id, (game, listener) -> {
+            final FleetValidationDto FLEET_VALIDATION = validationService.validateFleet(ships, game.getRules());
+            if (!FLEET_VALIDATION.isValid())
+                throw new InvalidFleetException(id, FLEET_VALIDATION);
+
+            game.getFieldPlayerOne().setShips(ships);
+            game.getFieldPlayerTwo().setShips(fleetPoolService.takeFleet(game.getRules()));
+            shotIndexService.invalidate(game);
+            return GameViewDto.of(game);
+        });
+    }
+
+
+    /**
+     * Lets the human player shoot and the KI answer - the turns are pushed to everybody streaming the turns of the game
+     *
+     * @param id          - The id of the currently played game
+     * @param coordinates - The coordinates where the player wants to shoot at
+     *
+     * @return What changed in the game because of the shot, empty if the game is over or the coordinates already got shot at
+     */
+
+    public Mono<ShotResultDto> shoot(Long id, Coordinates coordinates) {
+        return gameStore.update(id, (game, listener) -> {
+            final List<TurnPlayed> turns   = new ArrayList<>();
+            final List<ShipSunk> sunkShips = new ArrayList<>();
+
+            if (!turnService.playRound(game, coordinates, collectingListener(game, listener, turns, sunkShips)))
+                return null;
+
+            return new ShotResultDto(turns, sunkShips, game.getWinner());
+        });
+    }
+
+
+    /**
+     * Forwards everything that happens in a round to the listener of the store and collects it for the response
+     *
+     * @param game      - The current game
+     * @param listener  - The listener of the store which pushes the turns to the subscribers
+     * @param turns     - Collects the turns played in the round
+     * @param sunkShips - Collects the ships sunk in the round
+     *
+     * @return The listener for the round
+     */
+
+    private TurnListener collectingListener(Game game, TurnListener listener, List<TurnPlayed> turns, List<ShipSunk> sunkShips) {
+        return new TurnListener() {
+
+            @Override
+            public void turnPlayed(Turn turn) {
+                turns.add(TurnPlayed.of(turn));
+                listener.turnPlayed(turn);
+            }
+
+
+            @Override
+            public void shipSunk(Ship ship) {
+                // the player who sank the ship keeps shooting
+                sunkShips.add(ShipSunk.of(ShotIndex.opponent(turnService.getCurrentlyShootingPlayer(game)), ship));
+                listener.shipSunk(ship);
+            }
+
+
+            @Override
+            public void gameWon(Player winner) {
+                listener.gameWon(winner);
+            }
+
+        };
+    }
+
+}
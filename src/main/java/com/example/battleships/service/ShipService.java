@@ -1,5 +1,7 @@
 package com.example.battleships.service;
 
+import com.example.battleships.board.BitBoard;
+import com.example.battleships.board.BoardGeometry;
 import com.example.battleships.entity.Coordinates;
 import com.example.battleships.entity.Field;
 import com.example.battleships.entity.Game;
@@ -32,9 +34,9 @@ public final class ShipService {
 
         for (int length = 0; length < ship.getShipType().length; length++) {
             if (ship.getOrientation().equals(Orientation.HORIZONTAL)) {
-                coordinates.add(new Coordinates(X + length, Y));
+                coordinates.add(Coordinates.of(X + length, Y));
             } else {
-                coordinates.add(new Coordinates(X, Y + length));
+                coordinates.add(Coordinates.of(X, Y + length));
             }
         }
         return coordinates;
@@ -55,7 +57,7 @@ public final class ShipService {
         for (Coordinates shipCoordinate : this.getAllCoordinatesFromShip(ship)) {
             for (int x = -1; x <= 1; x++) {
                 for (int y = -1; y <= 1; y++) {
-                    surroundingCoordinates.add(new Coordinates(shipCoordinate.getX() + x, shipCoordinate.getY() + y));
+                    surroundingCoordinates.add(Coordinates.of(shipCoordinate.getX() + x, shipCoordinate.getY() + y));
                 }
             }
         }
@@ -63,6 +65,34 @@ public final class ShipService {
     }
 
 
+    /**
+     * Gets the precomputed mask of all cells occupied by the given ship
+     *
+     * @param ship     - The ship for which the mask should be looked up
+     * @param geometry - The geometry of the board the ship is placed on
+     *
+     * @return The shared footprint mask of the ship which must not be modified
+     */
+
+    public BitBoard getShipMask(Ship ship, BoardGeometry geometry) {
+        return geometry.footprint(ship.getShipType(), ship.getOrientation(), ship.getCoordinates().getX(), ship.getCoordinates().getY());
+    }
+
+
+    /**
+     * Gets the precomputed mask of all cells around and below the ship in which no other ships are allowed
+     *
+     * @param ship     - The ship for which the mask should be looked up
+     * @param geometry - The geometry of the board the ship is placed on
+     *
+     * @return The shared clearance mask of the ship which must not be modified
+     */
+
+    public BitBoard getClearanceMask(Ship ship, BoardGeometry geometry) {
+        return geometry.clearance(ship.getShipType(), ship.getOrientation(), ship.getCoordinates().getX(), ship.getCoordinates().getY());
+    }
+
+
     /**
      * Gets the ship of the given player which coordinates also contain the provided one
      * If no ship gets found null will be returned
@@ -76,11 +106,15 @@ public final class ShipService {
 
     public Ship getShipFromPlayerAndCoordinates(Coordinates coordinates, Game game, Player player) {
         final Field FIELD = player.equals(Player.PLAYER_ONE) ? game.getFieldPlayerOne() : game.getFieldPlayerTwo();
+        final BoardGeometry GEOMETRY = BoardGeometry.of(game.getRules().getWidth(), game.getRules().getHeight());
 
-        for (Ship ship : FIELD.getShips()) {
-            final Set<Coordinates> shipCoordinates = getAllCoordinatesFromShip(ship);
+        if (!GEOMETRY.contains(coordinates.getX(), coordinates.getY()))
+            return null;
 
-            if (shipCoordinates.contains(coordinates))
+        final int INDEX = GEOMETRY.index(coordinates.getX(), coordinates.getY());
+
+        for (Ship ship : FIELD.getShips()) {
+            if (getShipMask(ship, GEOMETRY).get(INDEX))
                 return ship;
         }
         return null;
@@ -0,0 +1,62 @@
+package com.example.battleships.service;
+
+import com.example.battleships.board.BoardGeometry;
+import com.example.battleships.board.ShotIndex;
+import com.example.battleships.entity.Game;
+import com.example.battleships.entity.Turn;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public final class ShotIndexService {
+
+    /**
+     * Gets the shot index of the game
+     * The index is built once from the turns of the game and then kept up to date by addTurn()
+     * Its geometry is the board of the rules of the game
+     *
+     * @param game - The current game
+     *
+     * @return The shot index of the game
+     */
+
+    public ShotIndex getShotIndex(Game game) {
+        if (game.getShotIndex() == null) {
+            final BoardGeometry geometry = BoardGeometry.of(game.getRules().getWidth(), game.getRules().getHeight());
+            final ShotIndex shotIndex = new ShotIndex(geometry, game.getFieldPlayerOne().getShips(), game.getFieldPlayerTwo().getShips());
+
+            game.getTurns().forEach(shotIndex::add);
+            game.setShotIndex(shotIndex);
+        }
+        return game.getShotIndex();
+    }
+
+
+    /**
+     * Appends the turn to the game and updates the shot index accordingly
+     *
+     * @param game - The current game
+     * @param turn - The turn which was played
+     */
+
+    public void addTurn(Game game, Turn turn) {
+        final ShotIndex shotIndex = getShotIndex(game);
+
+        game.getTurns().add(turn);
+        shotIndex.add(turn);
+    }
+
+
+    /**
+     * Drops the shot index of the game so it gets rebuilt with the next access
+     * This is necessary whenever the ships of the game change
+     *
+     * @param game - The current game
+     */
+
+    public void invalidate(Game game) {
+        game.setShotIndex(null);
+    }
+
+}
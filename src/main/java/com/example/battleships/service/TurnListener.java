@@ -0,0 +1,24 @@
+package com.example.battleships.service;
+
+import com.example.battleships.entity.Ship;
+import com.example.battleships.entity.Turn;
+import com.example.battleships.enumeration.Player;
+
+/**
+ * Gets notified about everything that happens while a round is played
+ * Called on the thread playing the round, right after the game got changed
+ */
+public interface TurnListener {
+
+    default void turnPlayed(Turn turn) {
+    }
+
+
+    default void shipSunk(Ship ship) {
+    }
+
+
+    default void gameWon(Player winner) {
+    }
+
+}
@@ -0,0 +1,218 @@
+package com.example.battleships.service;
+
+import com.example.battleships.board.ShotIndex;
+import com.example.battleships.entity.Coordinates;
+import com.example.battleships.entity.Game;
+import com.example.battleships.entity.Ship;
+import com.example.battleships.entity.Turn;
+import com.example.battleships.enumeration.Player;
+import com.example.battleships.metrics.GameMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public final class TurnService {
+
+    private final ShotIndexService shotIndexService;
+
+    private final KIService kiService;
+
+    private final GameMetrics gameMetrics;
+
+
+    /**
+     * Lets the human player (always PLAYER_ONE) shoot at the coordinates
+     * If the shot missed the KI (always PLAYER_TWO) keeps shooting until it misses as well or wins
+     *
+     * @param game        - The current game
+     * @param coordinates - The coordinates where the player wants to shoot at
+     * @param listener    - Gets every turn, sunk ship and the winner right when they happen
+     *
+     * @return False if the game is already over or the coordinates are off the board or already got shot at
+     */
+
+    public boolean playRound(Game game, Coordinates coordinates, TurnListener listener) {
+        final long RULES_START = System.nanoTime();
+
+        // is game already over
+        if (game.getWinner() != null)
+            return false;
+
+        // the coordinates have to lie on the board of the game
+        if (!shotIndexService.getShotIndex(game).getGeometry().contains(coordinates.getX(), coordinates.getY()))
+            return false;
+
+        // check if coordinates already got shot at
+        if (didCoordinatesAlreadyGotShotAt(coordinates, game))
+            return false;
+
+        final boolean HAS_HIT = playTurn(game, coordinates, listener).getHit();
+        gameMetrics.recordShootRules(RULES_START);
+
+        // a hit lets the human player shoot again
+        if (HAS_HIT) {
+            gameMetrics.recordBotTurns(0);
+            return true;
+        }
+
+        // missed - changing to ki
+        final long BOT_START = System.nanoTime();
+        int botTurns = 0;
+
+        boolean hasKiHit;
+        do {
+            hasKiHit = playTurn(game, kiService.shoot(game), listener).getHit();
+            botTurns++;
+        } while (hasKiHit && game.getWinner() == null);
+
+        gameMetrics.recordShootBot(BOT_START);
+        gameMetrics.recordBotTurns(botTurns);
+        return true;
+    }
+
+
+    /**
+     * Plays a single turn of the currently shooting player including sinking ships and winning the game
+     *
+     * @param game        - The current game
+     * @param coordinates - The coordinates which get shot at
+     * @param listener    - Gets the turn and its consequences
+     *
+     * @return The turn which was played
+     */
+
+    private Turn playTurn(Game game, Coordinates coordinates, TurnListener listener) {
+        final Player SHOOTING_PLAYER = getCurrentlyShootingPlayer(game);
+
+        final Turn TURN = playTurn(game, coordinates);
+        listener.turnPlayed(TURN);
+
+        // additional checks if ship got hit
+        if (TURN.getHit()) {
+            final Ship ship = getShipAt(coordinates, game, ShotIndex.opponent(SHOOTING_PLAYER));
+
+            if (isShipSinking(ship, game)) {
+                ship.setIsDestroyed(true);
+                listener.shipSunk(ship);
+
+                if (isGameWon(game)) {
+                    game.setWinner(SHOOTING_PLAYER);
+                    listener.gameWon(SHOOTING_PLAYER);
+                }
+            }
+        }
+        return TURN;
+    }
+
+
+    /**
+     * Lets the currently shooting player shoot at the given coordinates and appends the turn to the game
+     * The caller has to make sure the coordinates did not get shot at yet
+     *
+     * @param game        - The current game
+     * @param coordinates - The coordinates which get shot at
+     *
+     * @return The turn which was played
+     */
+
+    public Turn playTurn(Game game, Coordinates coordinates) {
+        final Player SHOOTING_PLAYER = getCurrentlyShootingPlayer(game);
+        final Ship ship = getShipAt(coordinates, game, ShotIndex.opponent(SHOOTING_PLAYER));
+
+        final Turn TURN = new Turn(null, game.getTurns().size() + 1, SHOOTING_PLAYER, coordinates, ship != null, game);
+        shotIndexService.addTurn(game, TURN);
+        return TURN;
+    }
+
+
+    /**
+     * Looks up the ship of the player at the given coordinates in the shot index
+     *
+     * @param coordinates - The coordinates which got shot at
+     * @param game        - The current game
+     * @param player      - The player on which side we look for a ship
+     *
+     * @return The ship or null if the coordinates are water
+     */
+
+    public Ship getShipAt(Coordinates coordinates, Game game, Player player) {
+        final ShotIndex shotIndex = shotIndexService.getShotIndex(game);
+
+        return shotIndex.getShip(player, shotIndex.getGeometry().index(coordinates.getX(), coordinates.getY()));
+    }
+
+
+    /**
+     * Decides based on the turns played in the game who is allowed to make the next move
+     *
+     * @param game - The game which is played at the moment
+     *
+     * @return The Player who is allowed to move next
+     */
+
+    public Player getCurrentlyShootingPlayer(Game game) {
+        final Turn LAST_TURN = shotIndexService.getShotIndex(game).getLastTurn();
+
+        // no turns -> PLAYER_ONE begins
+        if (LAST_TURN == null)
+            return Player.PLAYER_ONE;
+
+        // player of last turn hit a ship -> shoot again
+        if (LAST_TURN.getHit())
+            return LAST_TURN.getPlayer();
+
+        // last player missed -> switch players
+        return ShotIndex.opponent(LAST_TURN.getPlayer());
+    }
+
+
+    /**
+     * Checks if the coordinates have already received a shot from the currently shooting player
+     *
+     * @param coordinates - The coordinates which the player is shooting at
+     * @param game        - The current game
+     *
+     * @return Coordinates already got shot at
+     */
+
+    public Boolean didCoordinatesAlreadyGotShotAt(Coordinates coordinates, Game game) {
+        final Player SHOOTING_PLAYER = getCurrentlyShootingPlayer(game);
+
+        final ShotIndex shotIndex = shotIndexService.getShotIndex(game);
+
+        return shotIndex.hasShotAt(SHOOTING_PLAYER, shotIndex.getGeometry().index(coordinates.getX(), coordinates.getY()));
+    }
+
+
+    /**
+     * Checks if the ship is sinking
+     *
+     * @param ship - The ship which should get checked
+     * @param game - The current game
+     *
+     * @return Is the ship sinking
+     */
+
+    public Boolean isShipSinking(Ship ship, Game game) {
+        final Player SHOOTING_PLAYER = getCurrentlyShootingPlayer(game);
+
+        return shotIndexService.getShotIndex(game).isSunk(ShotIndex.opponent(SHOOTING_PLAYER), ship);
+    }
+
+
+    /**
+     * Checks if the game is won
+     *
+     * @param game - The current game
+     *
+     * @return Is the game won
+     */
+
+    public Boolean isGameWon(Game game) {
+        final Player SHOOTING_PLAYER = getCurrentlyShootingPlayer(game);
+
+        return shotIndexService.getShotIndex(game).isFleetSunk(ShotIndex.opponent(SHOOTING_PLAYER));
+    }
+
+}
@@ -1,146 +1,152 @@
 package com.example.battleships.service;
 
+import com.example.battleships.board.BitBoard;
+import com.example.battleships.board.BoardGeometry;
 import com.example.battleships.config.GameConfig;
-import com.example.battleships.entity.Coordinates;
+import com.example.battleships.dto.FleetValidationDto;
+import com.example.battleships.entity.Rules;
 import com.example.battleships.entity.Ship;
+import com.example.battleships.enumeration.FleetViolation;
 import com.example.battleships.enumeration.Orientation;
 import com.example.battleships.enumeration.ShipType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public final class ValidationService {
 
-    private final ShipService shipService;
+    // values() copies the array with every call
+    private static final ShipType[] SHIP_TYPES = ShipType.values();
 
+    // the ships of every type are counted in a single long, 16 bits per ship type - a type stops counting once it exceeds the rules
+    private static final int COUNT_BITS = 16;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
 
-    /**
-     * Validates if the player has set the correct amount of ships for each ShipType
-     *
-     * @param ships - All ships the player has placed
-     *
-     * @return When all placed ships with their ShipType match the expected amount ture, otherwise false
-     */
-
-    public Boolean areCorrectAmountOfShipsPlaced(Set<Ship> ships) {
-        final int AMOUNT_SUBMARINE        = GameConfig.ships.get(ShipType.SUBMARINE);
-        final int AMOUNT_DESTROYER        = GameConfig.ships.get(ShipType.DESTROYER);
-        final int AMOUNT_BATTLESHIP       = GameConfig.ships.get(ShipType.BATTLESHIP);
-        final int AMOUNT_AIRCRAFT_CARRIER = GameConfig.ships.get(ShipType.AIRCRAFT_CARRIER);
-
-        final long FIELD_SUBMARINE_COUNT        = ships.stream().filter(ship -> ship.getShipType().equals(ShipType.SUBMARINE)).count();
-        final long FIELD_DESTROYER_COUNT        = ships.stream().filter(ship -> ship.getShipType().equals(ShipType.DESTROYER)).count();
-        final long FIELD_BATTLESHIP_COUNT       = ships.stream().filter(ship -> ship.getShipType().equals(ShipType.BATTLESHIP)).count();
-        final long FIELD_AIRCRAFT_CARRIER_COUNT = ships.stream().filter(ship -> ship.getShipType().equals(ShipType.AIRCRAFT_CARRIER)).count();
-
-        return (
-            FIELD_SUBMARINE_COUNT == AMOUNT_SUBMARINE &&
-            FIELD_DESTROYER_COUNT == AMOUNT_DESTROYER &&
-            FIELD_BATTLESHIP_COUNT == AMOUNT_BATTLESHIP &&
-            FIELD_AIRCRAFT_CARRIER_COUNT == AMOUNT_AIRCRAFT_CARRIER
-        );
+    static {
+        // a new ship type has to fit into the packed counts as well
+        if (SHIP_TYPES.length * COUNT_BITS > Long.SIZE)
+            throw new IllegalStateException(SHIP_TYPES.length + " ship types do not fit into the packed ship counts of " + COUNT_BITS + " bits each");
     }
 
 
     /**
-     * Checks if the ship is within bounds of the playfield
+     * Checks if a game can be played with the rules
+     * Besides the limits of the board and the fleet every ship has to fit in and the whole fleet may only take a rough half of the board,
+     * otherwise placing the fleet at random can take ages or never succeed
      *
-     * @param ship  - The ship which gets checked
+     * @param rules - The rules a game should be created with
      *
-     * @return If the ship is within bounds returns true, otherwise false
+     * @return If the rules are valid
      */
 
-    public Boolean isShipPlacedEntirelyOnTheField(Ship ship) {
-        final int x = ship.getCoordinates().getX();
-        final int y = ship.getCoordinates().getY();
-        final int length = ship.getShipType().length;
-
-        if (x < 1 || x > GameConfig.WIDTH || y < 1 || y > GameConfig.HEIGHT)
+    public boolean areRulesValid(Rules rules) {
+        if (rules.getWidth() < 1 || rules.getWidth() > GameConfig.MAX_WIDTH || rules.getHeight() < 1 || rules.getHeight() > GameConfig.MAX_HEIGHT)
             return false;
 
-        if (ship.getOrientation().equals(Orientation.HORIZONTAL)) {
-            return (x + length - 1) <= GameConfig.WIDTH;
-        } else {
-            return (y + length - 1) <= GameConfig.HEIGHT;
-        }
-    }
+        // half of its clearance belongs to a ship - (length + 1) * 2 cells of a board which is one cell wider and higher
+        int blockedCells = 0;
 
+        for (ShipType shipType : SHIP_TYPES) {
+            final int COUNT = rules.getShipCount(shipType);
 
-    /**
-     * Checks if all ships are placed within bounds of the playfield
-     *
-     * @param ships - The ships which should be checked
-     *
-     * @return If the ships are within bounds returns true, otherwise false
-     */
-
-    public Boolean areShipsPlacedEntirelyOnTheField(Set<Ship> ships) {
-        for (Ship ship : ships) {
-            if (!isShipPlacedEntirelyOnTheField(ship))
+            if (COUNT < 0 || COUNT > GameConfig.MAX_SHIPS_PER_TYPE)
                 return false;
+            if (COUNT > 0 && shipType.length > Math.max(rules.getWidth(), rules.getHeight()))
+                return false;
+
+            blockedCells += COUNT * (shipType.length + 1) * 2;
         }
-        return true;
+        // the classic fleet blocks 60 of the 121 cells
+        return rules.getFleetSize() > 0 && blockedCells * 2 <= (rules.getWidth() + 1) * (rules.getHeight() + 1);
     }
 
 
     /**
-     * Checks if the ship has no other ship within its collision zone
+     * Checks the whole fleet a player wants to place
+     * See validateFleet(ships, rules, occupied), the occupancy board is created for this validation
      *
-     * @param ship  - The ship which checks for clearance collisions
-     * @param ships - All other ships placed on the field
+     * @param ships - All ships the player has placed
+     * @param rules - The rules of the game
      *
-     * @return Returns if ship has a no clearance violation
+     * @return The first violation of the fleet or FleetValidationDto.VALID
      */
 
-    public Boolean hasShipEnoughClearance(Ship ship, Set<Ship> ships) {
-        final Set<Coordinates> SHIP_CLEARANCE_COORDINATES = shipService.getClearanceCoordinatesForShip(ship);
-        final Set<Coordinates> OTHER_SHIPS_COORDINATES = ships.stream().map(shipService::getAllCoordinatesFromShip).flatMap(Collection::stream).collect(Collectors.toSet());
-
-        return Collections.disjoint(SHIP_CLEARANCE_COORDINATES, OTHER_SHIPS_COORDINATES);
+    public FleetValidationDto validateFleet(Set<Ship> ships, Rules rules) {
+        return validateFleet(ships, rules, new BitBoard(BoardGeometry.of(rules.getWidth(), rules.getHeight()).size()));
     }
 
 
     /**
-     * Checks if the ships have no other ship within their collision zone
+     * Checks the amount of ships of every type, the bounds and the clearance of the fleet in a single pass over the ships
+     * Clearance is symmetric, so every ship is only checked against the cells occupied by the ships before it
+     * The first violation ends the validation, a valid fleet is validated without allocating
      *
-     * @param ships - All ships who should be checked for clearance viiolations
+     * @param ships    - All ships the player has placed
+     * @param rules    - The rules of the game
+     * @param occupied - Scratch board which covers the whole board of the rules, its content is replaced
      *
-     * @return Returns if ships have no clearance violation
+     * @return The first violation of the fleet or FleetValidationDto.VALID
      */
 
-    public Boolean haveShipsEnoughClearance(Set<Ship> ships) {
+    public FleetValidationDto validateFleet(Set<Ship> ships, Rules rules, BitBoard occupied) {
+        final BoardGeometry GEOMETRY = BoardGeometry.of(rules.getWidth(), rules.getHeight());
+
+        occupied.clear();
+        long counts = 0;
+
         for (Ship ship : ships) {
-            final Set<Ship> otherShips = new HashSet<>(ships);
-            otherShips.remove(ship);
+            final ShipType SHIP_TYPE = ship.getShipType();
+            final int SHIFT = SHIP_TYPE.ordinal() * COUNT_BITS;
 
-            if (!hasShipEnoughClearance(ship, otherShips))
-                return false;
+            counts += 1L << SHIFT;
+            if ((counts >>> SHIFT & COUNT_MASK) > rules.getShipCount(SHIP_TYPE))
+                return new FleetValidationDto(FleetViolation.TOO_MANY_SHIPS, SHIP_TYPE, ship);
+
+            if (!isShipPlacedEntirelyOnTheField(ship, GEOMETRY))
+                return new FleetValidationDto(FleetViolation.OFF_THE_FIELD, SHIP_TYPE, ship);
+
+            final int X = ship.getCoordinates().getX();
+            final int Y = ship.getCoordinates().getY();
+
+            if (GEOMETRY.clearance(SHIP_TYPE, ship.getOrientation(), X, Y).intersects(occupied))
+                return new FleetValidationDto(FleetViolation.NOT_ENOUGH_CLEARANCE, SHIP_TYPE, ship);
+
+            occupied.or(GEOMETRY.footprint(SHIP_TYPE, ship.getOrientation(), X, Y));
         }
-        return true;
+
+        for (ShipType shipType : SHIP_TYPES) {
+            if ((counts >>> shipType.ordinal() * COUNT_BITS & COUNT_MASK) < rules.getShipCount(shipType))
+                return new FleetValidationDto(FleetViolation.TOO_FEW_SHIPS, shipType, null);
+        }
+        return FleetValidationDto.VALID;
     }
 
 
     /**
-     * Checks if the Ship with the current coordinates can be placed on the field without any violations
+     * Checks if the ship is within bounds of the playfield
      *
-     * @param ship  - The ship which wants to be placed
-     * @param ships - All other ships
+     * @param ship     - The ship which gets checked
+     * @param geometry - The geometry of the board
      *
-     * @return Returns if ship placement is valid
+     * @return If the ship is within bounds returns true, otherwise false
      */
 
-    public Boolean isShipPlacementValid(Ship ship, Set<Ship> ships) {
-        if (!isShipPlacedEntirelyOnTheField(ship))
+    public boolean isShipPlacedEntirelyOnTheField(Ship ship, BoardGeometry geometry) {
+        final int x = ship.getCoordinates().getX();
+        final int y = ship.getCoordinates().getY();
+        final int length = ship.getShipType().length;
+
+        if (!geometry.contains(x, y))
             return false;
 
-        return hasShipEnoughClearance(ship, ships);
+        if (ship.getOrientation().equals(Orientation.HORIZONTAL)) {
+            return (x + length - 1) <= geometry.getWidth();
+        } else {
+            return (y + length - 1) <= geometry.getHeight();
+        }
     }
 
 }
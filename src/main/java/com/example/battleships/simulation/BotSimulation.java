@@ -0,0 +1,185 @@
+package com.example.battleships.simulation;
+
+import com.example.battleships.entity.Coordinates;
+import com.example.battleships.entity.Game;
+import com.example.battleships.entity.Turn;
+import com.example.battleships.enumeration.Difficulty;
+import com.example.battleships.enumeration.Player;
+import com.example.battleships.service.KIService;
+import com.example.battleships.service.TurnListener;
+import com.example.battleships.service.TurnService;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays complete games in which both players are KIs - entirely in memory without any repository
+ * The games follow the same turn rules as GameService and are spread over a fork/join pool
+ */
+@RequiredArgsConstructor
+public final class BotSimulation {
+
+    // games a single task plays sequentially before the range is not split any further
+    private static final int GAMES_PER_TASK = 256;
+
+    private final KIService kiService;
+
+    private final TurnService turnService;
+
+    private final int parallelism;
+
+
+    /**
+     * Lets every difficulty play against every difficulty including itself, on both sides of the board
+     * The games are spread evenly over the matchups
+     *
+     * @param difficulties - The difficulties which take part in the simulation
+     * @param games        - The amount of games which should be played
+     *
+     * @return The statistics of every difficulty
+     */
+
+    public SimulationReport run(List<Difficulty> difficulties, long games) {
+        final List<Difficulty[]> matchups = new ArrayList<>();
+        for (Difficulty playerOne : difficulties) {
+            for (Difficulty playerTwo : difficulties)
+                matchups.add(new Difficulty[]{playerOne, playerTwo});
+        }
+
+        final long START = System.nanoTime();
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+        try {
+            final Map<Difficulty, DifficultyStatistics> statistics = pool.invoke(new SimulationTask(matchups, 0, games));
+            return new SimulationReport(games, parallelism, System.nanoTime() - START, statistics);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+
+    /**
+     * Plays one game until one of the KIs has sunk the whole fleet of the other one
+     * The KI of PLAYER_ONE shoots in place of the human player, the rounds are played by TurnService like every other game
+     *
+     * @param playerOne  - The difficulty of the KI playing PLAYER_ONE
+     * @param playerTwo  - The difficulty of the KI playing PLAYER_TWO
+     * @param statistics - The statistics the shots and the result are recorded to
+     */
+
+    private void playGame(Difficulty playerOne, Difficulty playerTwo, Map<Difficulty, DifficultyStatistics> statistics) {
+        final Game game = new Game();
+        game.setDifficulty(playerTwo);
+        game.getFieldPlayerOne().setShips(kiService.placeShips(game.getRules()));
+        game.getFieldPlayerTwo().setShips(kiService.placeShips(game.getRules()));
+
+        final ShotRecorder shotRecorder = new ShotRecorder(playerOne, playerTwo, statistics);
+
+        while (game.getWinner() == null) {
+            shotRecorder.shotStarted();
+            final Coordinates coordinates = kiService.shoot(game, Player.PLAYER_ONE, playerOne);
+
+            if (!turnService.playRound(game, coordinates, shotRecorder))
+                throw new IllegalStateException(playerOne + " shot at " + coordinates + " twice");
+        }
+
+        statistics.get(playerOne).recordGame(game.getWinner().equals(Player.PLAYER_ONE), shotRecorder.getShots(Player.PLAYER_ONE));
+        statistics.get(playerTwo).recordGame(game.getWinner().equals(Player.PLAYER_TWO), shotRecorder.getShots(Player.PLAYER_TWO));
+    }
+
+
+    private static Map<Difficulty, DifficultyStatistics> emptyStatistics(List<Difficulty[]> matchups) {
+        final Map<Difficulty, DifficultyStatistics> statistics = new EnumMap<>(Difficulty.class);
+        for (Difficulty[] matchup : matchups) {
+            for (Difficulty difficulty : matchup)
+                statistics.computeIfAbsent(difficulty, DifficultyStatistics::new);
+        }
+        return statistics;
+    }
+
+
+    /**
+     * Records every turn of a game to the statistics of the difficulty which played it
+     * The time of a shot is taken from the end of the previous turn, so the KI of PLAYER_TWO is measured inside of the round as well
+     */
+
+    @RequiredArgsConstructor
+    private static final class ShotRecorder implements TurnListener {
+
+        private final Difficulty playerOne;
+
+        private final Difficulty playerTwo;
+
+        private final Map<Difficulty, DifficultyStatistics> statistics;
+
+        private final int[] shots = new int[Player.values().length];
+
+        private long shotStart;
+
+
+        void shotStarted() {
+            shotStart = System.nanoTime();
+        }
+
+
+        int getShots(Player player) {
+            return shots[player.ordinal()];
+        }
+
+
+        @Override
+        public void turnPlayed(Turn turn) {
+            final Difficulty DIFFICULTY = turn.getPlayer().equals(Player.PLAYER_ONE) ? playerOne : playerTwo;
+
+            statistics.get(DIFFICULTY).recordShot(System.nanoTime() - shotStart, turn.getHit());
+            shots[turn.getPlayer().ordinal()]++;
+            shotStarted();
+        }
+
+    }
+
+
+    /**
+     * Plays the games with the numbers [from, to) - game n plays matchup n modulo the amount of matchups
+     * Big ranges are split in halves, the statistics of both halves are merged afterwards
+     */
+
+    @RequiredArgsConstructor
+    private final class SimulationTask extends RecursiveTask<Map<Difficulty, DifficultyStatistics>> {
+
+        private final List<Difficulty[]> matchups;
+
+        private final long from;
+
+        private final long to;
+
+
+        @Override
+        protected Map<Difficulty, DifficultyStatistics> compute() {
+            if (to - from > GAMES_PER_TASK) {
+                final long MIDDLE = (from + to) >>> 1;
+
+                final SimulationTask left = new SimulationTask(matchups, from, MIDDLE);
+                left.fork();
+
+                final Map<Difficulty, DifficultyStatistics> statistics = new SimulationTask(matchups, MIDDLE, to).compute();
+                left.join().forEach((difficulty, other) -> statistics.get(difficulty).merge(other));
+                return statistics;
+            }
+
+            final Map<Difficulty, DifficultyStatistics> statistics = emptyStatistics(matchups);
+            for (long game = from; game < to; game++) {
+                final Difficulty[] matchup = matchups.get((int) (game % matchups.size()));
+                playGame(matchup[0], matchup[1], statistics);
+            }
+            return statistics;
+        }
+
+    }
+
+}
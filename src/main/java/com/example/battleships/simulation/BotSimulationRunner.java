@@ -0,0 +1,49 @@
+package com.example.battleships.simulation;
+
+import com.example.battleships.enumeration.Difficulty;
+import com.example.battleships.metrics.GameMetrics;
+import com.example.battleships.service.KIService;
+import com.example.battleships.service.ShotIndexService;
+import com.example.battleships.service.TurnService;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the bot simulation from the command line without starting Spring, a database or a web server
+ * mvn compile exec:java -Dexec.mainClass=com.example.battleships.simulation.BotSimulationRunner -Dexec.args="--games=1000000 --difficulties=MEDIUM,STRATEGIST"
+ *
+ * Options:
+ * --games=n             - The amount of games, 100000 by default
+ * --parallelism=n       - The amount of threads, all cores by default
+ * --difficulties=a,b,.. - The difficulties playing against each other, all difficulties by default
+ */
+public final class BotSimulationRunner {
+
+    public static void main(String[] args) {
+        long games = 100_000;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        List<Difficulty> difficulties = List.of(Difficulty.values());
+
+        for (String arg : args) {
+            final String[] option = arg.split("=", 2);
+            if (option.length != 2)
+                throw new IllegalArgumentException("Expected --option=value but got " + arg);
+
+            switch (option[0]) {
+                case "--games"        -> games = Long.parseLong(option[1]);
+                case "--parallelism"  -> parallelism = Integer.parseInt(option[1]);
+                case "--difficulties" -> difficulties = Arrays.stream(option[1].split(",")).map(String::trim).map(Difficulty::valueOf).toList();
+                default               -> throw new IllegalArgumentException("Unknown option " + option[0]);
+            }
+        }
+
+        final ShotIndexService shotIndexService = new ShotIndexService();
+        final GameMetrics gameMetrics = GameMetrics.noop();
+        final KIService kiService = new KIService(shotIndexService, gameMetrics);
+        final BotSimulation simulation = new BotSimulation(kiService, new TurnService(shotIndexService, kiService, gameMetrics), parallelism);
+
+        simulation.run(difficulties, games).print(System.out);
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.example.battleships.simulation;
+
+import com.example.battleships.config.GameConfig;
+import com.example.battleships.enumeration.Difficulty;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Aggregates how a difficulty performed over all simulated games it took part in, no matter on which side
+ */
+@Getter
+@RequiredArgsConstructor
+public final class DifficultyStatistics {
+
+    private final Difficulty difficulty;
+
+    private long games;
+    private long wins;
+    private long shots;
+    private long hits;
+
+    // shots the difficulty needed to sink the whole fleet of the opponent - only known for won games
+    private final Histogram shotsToWin = Histogram.linear(GameConfig.WIDTH * GameConfig.HEIGHT, 5);
+
+    // time the KI took to choose a single shot in nanoseconds
+    private final Histogram shotTime = Histogram.exponential();
+
+
+    public void recordShot(long nanos, boolean hit) {
+        shots++;
+        if (hit)
+            hits++;
+        shotTime.record(nanos);
+    }
+
+
+    /**
+     * @param won   - Did the difficulty win the game
+     * @param shots - The amount of shots the difficulty fired in the game
+     */
+
+    public void recordGame(boolean won, int shots) {
+        games++;
+        if (won) {
+            wins++;
+            shotsToWin.record(shots);
+        }
+    }
+
+
+    public void merge(DifficultyStatistics other) {
+        games += other.games;
+        wins  += other.wins;
+        shots += other.shots;
+        hits  += other.hits;
+        shotsToWin.merge(other.shotsToWin);
+        shotTime.merge(other.shotTime);
+    }
+
+
+    public double getWinRate() {
+        return games == 0 ? 0 : (double) wins / games;
+    }
+
+
+    public double getHitRate() {
+        return shots == 0 ? 0 : (double) hits / shots;
+    }
+
+}
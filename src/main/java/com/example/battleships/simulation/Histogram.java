@@ -0,0 +1,152 @@
+package com.example.battleships.simulation;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Counts values in fixed buckets so histograms of different threads can simply be added up
+ * Linear histograms use buckets of the same width, exponential histograms double the width with every bucket
+ */
+public final class Histogram {
+
+    private final long[] counts;
+
+    // 0 for exponential buckets
+    private final int bucketWidth;
+
+    private long count;
+    private long sum;
+    private long maximum;
+
+
+    private Histogram(int buckets, int bucketWidth) {
+        this.counts      = new long[buckets];
+        this.bucketWidth = bucketWidth;
+    }
+
+
+    /**
+     * @param maximum     - The biggest expected value, bigger values are counted in the last bucket
+     * @param bucketWidth - The range of values counted in one bucket
+     *
+     * @return A histogram with buckets [0, width), [width, 2 * width), ...
+     */
+
+    public static Histogram linear(int maximum, int bucketWidth) {
+        return new Histogram(maximum / bucketWidth + 1, bucketWidth);
+    }
+
+
+    /**
+     * @return A histogram with buckets [0, 1), [1, 2), [2, 4), [4, 8), ... which covers every positive long
+     */
+
+    public static Histogram exponential() {
+        return new Histogram(Long.SIZE, 0);
+    }
+
+
+    public void record(long value) {
+        counts[bucket(value)]++;
+        count++;
+        sum += value;
+        maximum = Math.max(maximum, value);
+    }
+
+
+    /**
+     * Adds the values of another histogram with the same buckets to this histogram
+     *
+     * @param other - The histogram which should be added
+     */
+
+    public void merge(Histogram other) {
+        for (int bucket = 0; bucket < counts.length; bucket++)
+            counts[bucket] += other.counts[bucket];
+
+        count  += other.count;
+        sum    += other.sum;
+        maximum = Math.max(maximum, other.maximum);
+    }
+
+
+    public long getCount() {
+        return count;
+    }
+
+
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+
+    public long getMaximum() {
+        return maximum;
+    }
+
+
+    /**
+     * Estimates the percentile by the upper bound of the bucket which contains it
+     *
+     * @param percentile - The percentile between 0 and 100
+     *
+     * @return The upper bound of the bucket, but never more than the biggest recorded value
+     */
+
+    public long getPercentile(double percentile) {
+        final long RANK = (long) Math.ceil(count * percentile / 100);
+        long seen = 0;
+
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= RANK && seen > 0)
+                return Math.min(upperBound(bucket), maximum);
+        }
+        return maximum;
+    }
+
+
+    public int getBuckets() {
+        return counts.length;
+    }
+
+
+    public long getCount(int bucket) {
+        return counts[bucket];
+    }
+
+
+    public long lowerBound(int bucket) {
+        if (bucketWidth > 0)
+            return (long) bucket * bucketWidth;
+        return bucket == 0 ? 0 : 1L << (bucket - 1);
+    }
+
+
+    public long upperBound(int bucket) {
+        if (bucketWidth > 0)
+            return (long) (bucket + 1) * bucketWidth - 1;
+        return (1L << bucket) - 1;
+    }
+
+
+    /**
+     * Hands the index of every bucket which holds at least one value to the consumer
+     *
+     * @param consumer - The consumer which gets the buckets in ascending order
+     */
+
+    public void forEachNonEmptyBucket(IntConsumer consumer) {
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            if (counts[bucket] > 0)
+                consumer.accept(bucket);
+        }
+    }
+
+
+    private int bucket(long value) {
+        if (bucketWidth > 0)
+            return (int) Math.min(Math.max(value, 0) / bucketWidth, counts.length - 1);
+        return value <= 0 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(value);
+    }
+
+}
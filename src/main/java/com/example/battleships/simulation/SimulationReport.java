@@ -0,0 +1,75 @@
+package com.example.battleships.simulation;
+
+import com.example.battleships.enumeration.Difficulty;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.PrintStream;
+import java.util.Map;
+
+@Getter
+@RequiredArgsConstructor
+public final class SimulationReport {
+
+    private static final int BAR_WIDTH = 50;
+
+    private final long games;
+
+    private final int parallelism;
+
+    private final long elapsedNanos;
+
+    private final Map<Difficulty, DifficultyStatistics> statistics;
+
+
+    /**
+     * Prints a summary table of all difficulties followed by the histograms of every difficulty
+     *
+     * @param out - The stream the report is printed to
+     */
+
+    public void print(PrintStream out) {
+        final double SECONDS = elapsedNanos / 1e9;
+
+        out.printf("Simulated %d games in %.1f s (%.0f games/s) on %d threads%n%n", games, SECONDS, games / SECONDS, parallelism);
+        out.printf("%-12s %10s %9s %9s %26s %28s%n", "Difficulty", "Games", "Win rate", "Hit rate", "Shots to win mean/p50/p90", "Shot time ns p50/p99/max");
+
+        for (DifficultyStatistics difficulty : statistics.values()) {
+            out.printf(
+                    "%-12s %10d %8.1f%% %8.1f%% %26s %28s%n",
+                    difficulty.getDifficulty(),
+                    difficulty.getGames(),
+                    difficulty.getWinRate() * 100,
+                    difficulty.getHitRate() * 100,
+                    String.format("%.1f/%d/%d", difficulty.getShotsToWin().getMean(), difficulty.getShotsToWin().getPercentile(50), difficulty.getShotsToWin().getPercentile(90)),
+                    String.format("%d/%d/%d", difficulty.getShotTime().getPercentile(50), difficulty.getShotTime().getPercentile(99), difficulty.getShotTime().getMaximum())
+            );
+        }
+
+        for (DifficultyStatistics difficulty : statistics.values()) {
+            out.printf("%n%s - shots to win%n", difficulty.getDifficulty());
+            printHistogram(out, difficulty.getShotsToWin());
+
+            out.printf("%n%s - shot time in ns%n", difficulty.getDifficulty());
+            printHistogram(out, difficulty.getShotTime());
+        }
+    }
+
+
+    private void printHistogram(PrintStream out, Histogram histogram) {
+        long largest = 1;
+        for (int bucket = 0; bucket < histogram.getBuckets(); bucket++)
+            largest = Math.max(largest, histogram.getCount(bucket));
+
+        final long LARGEST = largest;
+
+        histogram.forEachNonEmptyBucket(bucket -> out.printf(
+                "%10d - %-10d %-" + BAR_WIDTH + "s %6.2f%%%n",
+                histogram.lowerBound(bucket),
+                histogram.upperBound(bucket),
+                "#".repeat((int) Math.max(1, histogram.getCount(bucket) * BAR_WIDTH / LARGEST)),
+                histogram.getCount(bucket) * 100.0 / histogram.getCount()
+        ));
+    }
+
+}
@@ -0,0 +1,214 @@
+package com.example.battleships.store;
+
+import com.example.battleships.entity.Game;
+import com.example.battleships.entity.Turn;
+import com.example.battleships.service.TurnListener;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityNotFoundException;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+public final class ReactiveGameStore {
+
+    private final ObjectMapper objectMapper;
+
+    // null if snapshots are disabled
+    private final Path snapshotFile;
+
+    // every game belongs to one single threaded scheduler - all changes of a game run there one after another without any lock
+    private final Scheduler[] stripes;
+
+    private final Map<Long, StoredGame> games = new ConcurrentHashMap<>();
+
+    private final AtomicLong ids = new AtomicLong();
+
+    private final AtomicBoolean changedSinceSnapshot = new AtomicBoolean();
+
+
+    public ReactiveGameStore(
+            ObjectMapper objectMapper,
+            @Value("${battleship.reactive.stripes:0}") int stripes,
+            @Value("${battleship.reactive.snapshot-file:}") String snapshotFile
+    ) {
+        this.objectMapper = objectMapper;
+        this.snapshotFile = snapshotFile.isBlank() ? null : Path.of(snapshotFile);
+        this.stripes      = new Scheduler[stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors()];
+
+        for (int stripe = 0; stripe < this.stripes.length; stripe++)
+            this.stripes[stripe] = Schedulers.newSingle("reactive-game-" + stripe, true);
+    }
+
+
+    /**
+     * Stores the new game under a new id
+     *
+     * @param game - The game which should be stored
+     *
+     * @return The stored game
+     */
+
+    public Mono<Game> create(Game game) {
+        return Mono.defer(() -> {
+            final Long ID = ids.incrementAndGet();
+
+            return Mono.fromCallable(() -> {
+                game.setId(ID);
+                games.put(ID, new StoredGame(game));
+                changedSinceSnapshot.set(true);
+                return game;
+            }).subscribeOn(stripe(ID));
+        });
+    }
+
+
+    /**
+     * Reads the game on the scheduler of its stripe, so it never sees a half applied change
+     *
+     * @param id   - The id of the game
+     * @param view - Extracts what the caller needs from the game
+     *
+     * @return The result of the view, empty if the view returned null
+     */
+
+    public <T> Mono<T> read(Long id, Function<Game, T> view) {
+        return Mono.fromCallable(() -> view.apply(get(id).getGame())).subscribeOn(stripe(id));
+    }
+
+
+    /**
+     * Changes the game on the scheduler of its stripe
+     * Changes of the same game never overlap, changes of games on different stripes run in parallel
+     *
+     * @param id     - The id of the game
+     * @param change - Changes the game and reports the played turns to the listener
+     *
+     * @return The result of the change, empty if the change returned null
+     */
+
+    public <T> Mono<T> update(Long id, BiFunction<Game, TurnListener, T> change) {
+        return Mono.fromCallable(() -> {
+            final StoredGame storedGame = get(id);
+            changedSinceSnapshot.set(true);
+            return change.apply(storedGame.getGame(), storedGame);
+        }).subscribeOn(stripe(id));
+    }
+
+
+    /**
+     * Streams every turn of the game, first the turns which were already played and then the new ones
+     * The stream completes once the game has a winner
+     *
+     * @param id - The id of the game
+     *
+     * @return The turns of the game
+     */
+
+    public Flux<Turn> turns(Long id) {
+        return Mono.fromCallable(() -> get(id)).subscribeOn(stripe(id)).flatMapMany(StoredGame::turns);
+    }
+
+
+    /**
+     * Writes every game as one line of JSON to the snapshot file if anything changed since the last snapshot
+     * The file is replaced at once, a crash while writing keeps the previous snapshot
+     */
+
+    @Scheduled(fixedDelayString = "${battleship.reactive.snapshot-interval-ms:10000}")
+    public void snapshot() {
+        if (snapshotFile == null || !changedSinceSnapshot.getAndSet(false))
+            return;
+
+        // every game is serialized on its own stripe, so it is not changed while it is written
+        final List<String> lines = Flux.fromIterable(games.values())
+                .flatMap(storedGame -> Mono.fromCallable(() -> objectMapper.writeValueAsString(storedGame.getGame())).subscribeOn(stripe(storedGame.getGame().getId())))
+                .collectList()
+                .block();
+
+        try {
+            final Path TEMPORARY_FILE = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+
+            try (BufferedWriter writer = Files.newBufferedWriter(TEMPORARY_FILE)) {
+                for (String line : lines) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            }
+            Files.move(TEMPORARY_FILE, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exception) {
+            log.error("Could not write the snapshot of the reactive games to {}, retrying with the next snapshot", snapshotFile, exception);
+            changedSinceSnapshot.set(true);
+        }
+    }
+
+
+    /**
+     * Loads the games of the last snapshot
+     */
+
+    @PostConstruct
+    public void restore() throws IOException {
+        if (snapshotFile == null || !Files.exists(snapshotFile))
+            return;
+
+        try (BufferedReader reader = Files.newBufferedReader(snapshotFile)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final Game game = objectMapper.readValue(line, Game.class);
+
+                // the back reference of the turns is not part of the JSON
+                game.getTurns().forEach(turn -> turn.setGame(game));
+
+                games.put(game.getId(), new StoredGame(game));
+                ids.accumulateAndGet(game.getId(), Math::max);
+            }
+        }
+        log.info("Restored {} reactive games from {}", games.size(), snapshotFile);
+    }
+
+
+    @PreDestroy
+    public void shutdown() {
+        snapshot();
+
+        for (Scheduler stripe : stripes)
+            stripe.dispose();
+    }
+
+
+    private StoredGame get(Long id) {
+        final StoredGame storedGame = games.get(id);
+        if (storedGame == null)
+            throw new EntityNotFoundException(id.toString());
+        return storedGame;
+    }
+
+
+    private Scheduler stripe(Long id) {
+        return stripes[Math.floorMod(id.hashCode(), stripes.length)];
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.example.battleships.store;
+
+import com.example.battleships.entity.Game;
+import com.example.battleships.entity.Turn;
+import com.example.battleships.enumeration.Player;
+import com.example.battleships.service.TurnListener;
+import lombok.Getter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A game of the reactive store together with the subscribers of its turns
+ * Only ever changed from the scheduler of the stripe the game belongs to
+ */
+final class StoredGame implements TurnListener {
+
+    @Getter
+    private final Game game;
+
+    // every subscriber has its own sink - the turns played so far are replayed from the game itself, only new turns are pushed
+    private final Set<Sinks.Many<Turn>> subscribers = ConcurrentHashMap.newKeySet();
+
+
+    StoredGame(Game game) {
+        this.game = game;
+    }
+
+
+    /**
+     * Has to be called on the scheduler of the stripe, so no turn is played while the turns so far are handed to the new subscriber
+     *
+     * @return The turns played so far followed by the new ones, completes once the game has a winner
+     */
+
+    Flux<Turn> turns() {
+        // every cell can only be shot at once by each player, so a buffer of that size holds the whole game but never more
+        final int MAX_TURNS = 2 * game.getRules().getWidth() * game.getRules().getHeight();
+
+        final Sinks.Many<Turn> sink = Sinks.many().unicast().onBackpressureBuffer(Queues.<Turn>get(MAX_TURNS).get());
+        game.getTurns().forEach(sink::tryEmitNext);
+
+        if (game.getWinner() != null) {
+            sink.tryEmitComplete();
+            return sink.asFlux();
+        }
+        subscribers.add(sink);
+        return sink.asFlux().doFinally(signal -> subscribers.remove(sink));
+    }
+
+
+    @Override
+    public void turnPlayed(Turn turn) {
+        for (Sinks.Many<Turn> sink : subscribers)
+            sink.tryEmitNext(turn);
+    }
+
+
+    @Override
+    public void gameWon(Player winner) {
+        for (Sinks.Many<Turn> sink : subscribers)
+            sink.tryEmitComplete();
+        subscribers.clear();
+    }
+
+}
@@ -1,8 +1,8 @@
 package com.example.battleships.util;
 
-import com.example.battleships.config.GameConfig;
 import com.example.battleships.entity.Field;
 import com.example.battleships.entity.Game;
+import com.example.battleships.entity.Rules;
 import com.example.battleships.entity.Ship;
 import com.example.battleships.enumeration.Orientation;
 
@@ -17,10 +17,10 @@ public final class DrawUtil {
 
     public static void drawFields(Game game) {
         System.out.println();
-        drawField(game.getFieldPlayerOne());
+        drawField(game.getFieldPlayerOne(), game.getRules());
 
         System.out.println();
-        drawField(game.getFieldPlayerTwo());
+        drawField(game.getFieldPlayerTwo(), game.getRules());
     }
 
 
@@ -29,17 +29,21 @@ public final class DrawUtil {
      * Ships are shown as full spaces (■) while unoccupied spaces are shown as empty spaces (□).
      *
      * @param field Field - The field which should be drawn
+     * @param rules Rules - The rules of the game with the size of the field
      */
 
-    public static void drawField(Field field) {
+    public static void drawField(Field field, Rules rules) {
+        final int WIDTH  = rules.getWidth();
+        final int HEIGHT = rules.getHeight();
+
         final String FIELD_EMPTY  = "□";
         final String FIELD_FILLED = "■";
 
-        final String[][] ocean = new String[GameConfig.WIDTH + 1][GameConfig.HEIGHT + 1];
+        final String[][] ocean = new String[WIDTH + 1][HEIGHT + 1];
 
         // populate water
-        for (int x = 0; x <= GameConfig.WIDTH; x++) {
-            for (int y = 0; y <= GameConfig.HEIGHT; y++) {
+        for (int x = 0; x <= WIDTH; x++) {
+            for (int y = 0; y <= HEIGHT; y++) {
                 ocean[x][y] = FIELD_EMPTY;
                 if (x == 0 || y == 0) // populate coordinates axes
                     ocean[x][y] = String.valueOf(x + y);
@@ -61,8 +65,8 @@ public final class DrawUtil {
         }
 
         // draw
-        for (int y = 0; y <= GameConfig.HEIGHT; y++) {
-            for (int x = 0; x <= GameConfig.WIDTH; x++)
+        for (int y = 0; y <= HEIGHT; y++) {
+            for (int x = 0; x <= WIDTH; x++)
                 System.out.printf("%1$3s", ocean[x][y]);
             System.out.println();
         }
@@ -0,0 +1,74 @@
+package com.example.battleships.archive;
+
+import com.example.battleships.entity.*;
+import com.example.battleships.enumeration.Difficulty;
+import com.example.battleships.enumeration.Orientation;
+import com.example.battleships.enumeration.Player;
+import com.example.battleships.enumeration.ShipType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameArchiveTest {
+
+    @TempDir
+    Path directory;
+
+
+    @Test
+    void gamesSurviveReopeningAndSpreadOverSegments() {
+        final GameArchive archive = new GameArchive(directory.toString(), 64);
+        archive.open();
+
+        for (long id = 1; id <= 5; id++)
+            archive.append(finishedGame(id));
+        archive.close();
+
+        final GameArchive reopened = new GameArchive(directory.toString(), 64);
+        reopened.open();
+
+        for (long id = 1; id <= 5; id++) {
+            final Game game = reopened.find(id).orElseThrow();
+
+            assertThat(game.getDifficulty()).isEqualTo(Difficulty.HARD);
+            assertThat(game.getWinner()).isEqualTo(Player.PLAYER_TWO);
+            assertThat(game.getFieldPlayerTwo().getShips()).singleElement().satisfies(ship -> {
+                assertThat(ship.getShipType()).isEqualTo(ShipType.AIRCRAFT_CARRIER);
+                assertThat(ship.getOrientation()).isEqualTo(Orientation.VERTICAL);
+                assertThat(ship.getCoordinates()).isEqualTo(Coordinates.of(10, 7));
+                assertThat(ship.getIsDestroyed()).isTrue();
+            });
+            assertThat(game.getTurns()).extracting(Turn::getTurn).containsExactly(1, 2, 3);
+        }
+        assertThat(reopened.findTurns(3L, 1, 1).orElseThrow()).singleElement().satisfies(turn -> {
+            assertThat(turn.getTurn()).isEqualTo(2);
+            assertThat(turn.getPlayer()).isEqualTo(Player.PLAYER_TWO);
+            assertThat(turn.getCoordinates()).isEqualTo(Coordinates.of(10, 10));
+            assertThat(turn.getHit()).isTrue();
+        });
+        assertThat(reopened.find(6L)).isEmpty();
+        assertThat(directory.toFile().list()).hasSize(5);
+    }
+
+
+    private Game finishedGame(long id) {
+        final Game game = new Game();
+        game.setId(id);
+        game.setDifficulty(Difficulty.HARD);
+        game.setWinner(Player.PLAYER_TWO);
+        game.getFieldPlayerOne().setShips(Set.of(new Ship(null, Orientation.HORIZONTAL, ShipType.SUBMARINE, Coordinates.of(1, 1), false)));
+        game.getFieldPlayerTwo().setShips(Set.of(new Ship(null, Orientation.VERTICAL, ShipType.AIRCRAFT_CARRIER, Coordinates.of(10, 7), true)));
+        game.setTurns(List.of(
+                new Turn(null, 1, Player.PLAYER_ONE, Coordinates.of(1, 10), false, game),
+                new Turn(null, 2, Player.PLAYER_TWO, Coordinates.of(10, 10), true, game),
+                new Turn(null, 3, Player.PLAYER_TWO, Coordinates.of(5, 1), false, game)
+        ));
+        return game;
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.example.battleships.board;
+
+import com.example.battleships.entity.Coordinates;
+import com.example.battleships.entity.Ship;
+import com.example.battleships.enumeration.Orientation;
+import com.example.battleships.enumeration.ShipType;
+import com.example.battleships.service.ShipService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoardGeometryTest {
+
+    private final BoardGeometry geometry = BoardGeometry.DEFAULT;
+
+    private final ShipService shipService = new ShipService();
+
+
+    @ParameterizedTest
+    @CsvSource({"10, 10", "37, 29", "64, 64"})
+    void masksMatchCoordinateSets(int width, int height) {
+        final BoardGeometry geometry = BoardGeometry.of(width, height);
+
+        for (ShipType shipType : ShipType.values()) {
+            for (Orientation orientation : Orientation.values()) {
+                for (int x = 1; x <= geometry.getWidth(); x++) {
+                    for (int y = 1; y <= geometry.getHeight(); y++) {
+                        final Ship ship = new Ship(null, orientation, shipType, Coordinates.of(x, y), false);
+
+                        assertThat(toCoordinates(geometry, shipService.getShipMask(ship, geometry))).isEqualTo(onBoard(geometry, shipService.getAllCoordinatesFromShip(ship)));
+                        assertThat(toCoordinates(geometry, shipService.getClearanceMask(ship, geometry))).isEqualTo(onBoard(geometry, shipService.getClearanceCoordinatesForShip(ship)));
+                    }
+                }
+            }
+        }
+    }
+
+
+    @Test
+    void nthSetBitAndNotSkipsMaskedCells() {
+        final BitBoard board = new BitBoard(geometry.size());
+        final BitBoard mask  = new BitBoard(geometry.size());
+
+        board.set(3);
+        board.set(70);
+        board.set(99);
+        mask.set(70);
+
+        assertThat(board.cardinalityAndNot(mask)).isEqualTo(2);
+        assertThat(board.nthSetBitAndNot(mask, 0)).isEqualTo(3);
+        assertThat(board.nthSetBitAndNot(mask, 1)).isEqualTo(99);
+        assertThat(board.nthSetBitAndNot(mask, 2)).isEqualTo(-1);
+    }
+
+
+    @Test
+    void windowedMasksCombineWithWholeBoards() {
+        final BoardGeometry geometry = BoardGeometry.of(64, 64);
+
+        final BitBoard footprint = geometry.footprint(ShipType.AIRCRAFT_CARRIER, Orientation.VERTICAL, 40, 30);
+        final BitBoard clearance = geometry.clearance(ShipType.AIRCRAFT_CARRIER, Orientation.VERTICAL, 40, 30);
+        final BitBoard board     = new BitBoard(geometry.size());
+
+        board.or(clearance);
+        assertThat(board.cardinality()).isEqualTo(3 * 6);
+        assertThat(board.containsAll(footprint)).isTrue();
+
+        board.andNot(footprint);
+        assertThat(board.intersects(footprint)).isFalse();
+        assertThat(board.cardinalityAnd(clearance)).isEqualTo(3 * 6 - 4);
+        assertThat(footprint.nthSetBitAndNot(board, 3)).isEqualTo(geometry.index(40, 33));
+    }
+
+
+    private Set<Coordinates> toCoordinates(BoardGeometry geometry, BitBoard board) {
+        return IntStream.iterate(board.nextSetBit(0), index -> index >= 0, index -> board.nextSetBit(index + 1))
+                .mapToObj(index -> Coordinates.of(geometry.x(index), geometry.y(index)))
+                .collect(Collectors.toSet());
+    }
+
+
+    private Set<Coordinates> onBoard(BoardGeometry geometry, Set<Coordinates> coordinates) {
+        return coordinates.stream().filter(c -> geometry.contains(c.getX(), c.getY())).collect(Collectors.toSet());
+    }
+
+}
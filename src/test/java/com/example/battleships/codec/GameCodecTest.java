@@ -0,0 +1,133 @@
+package com.example.battleships.codec;
+
+import com.example.battleships.entity.*;
+import com.example.battleships.enumeration.Difficulty;
+import com.example.battleships.enumeration.Orientation;
+import com.example.battleships.enumeration.Player;
+import com.example.battleships.enumeration.ShipType;
+import com.example.battleships.event.ShipSunk;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameCodecTest {
+
+    @Test
+    void appendProducesTheSameBytesAsEncode() {
+        final Game game = runningGame();
+        final byte[] encoded = GameCodec.encode(game);
+
+        final Ship carrier = game.getFieldPlayerTwo().getShips().iterator().next();
+        final List<Turn> turns = List.of(
+                playTurn(game, Player.PLAYER_ONE, Coordinates.of(12, 5), true),
+                playTurn(game, Player.PLAYER_ONE, Coordinates.of(12, 6), true)
+        );
+        carrier.setIsDestroyed(true);
+        game.setWinner(Player.PLAYER_ONE);
+
+        final byte[] appended = GameCodec.append(encoded, turns, List.of(ShipSunk.of(Player.PLAYER_TWO, carrier)), Player.PLAYER_ONE);
+
+        assertThat(appended).isEqualTo(GameCodec.encode(game));
+    }
+
+
+    @Test
+    void viewHidesTheUnsunkShipsOfTheKiUntilTheGameIsWon() {
+        final Game game = runningGame();
+        final Ship submarine = new Ship(null, Orientation.HORIZONTAL, ShipType.SUBMARINE, Coordinates.of(1, 8), true);
+        game.getFieldPlayerTwo().getShips().add(submarine);
+
+        final Game view = GameCodec.decode(game.getId(), ByteBuffer.wrap(GameCodec.encodeView(game)));
+
+        assertThat(view.getFieldPlayerOne().getShips()).hasSize(2);
+        assertThat(view.getFieldPlayerTwo().getShips()).singleElement().satisfies(ship -> {
+            assertThat(ship.getShipType()).isEqualTo(ShipType.SUBMARINE);
+            assertThat(ship.getIsDestroyed()).isTrue();
+        });
+        assertThat(view.getTurns()).hasSize(2);
+
+        game.setWinner(Player.PLAYER_TWO);
+
+        assertThat(GameCodec.encodeView(game)).isEqualTo(GameCodec.encode(game));
+    }
+
+
+    @Test
+    void formatOneRecordsStillDecodeAndAppend() {
+        final ByteBuffer buffer = ByteBuffer.allocate(3 + 2 * (1 + Integer.BYTES) + Integer.BYTES + 2 * Short.BYTES);
+        buffer.put((byte) 1);
+        buffer.put((byte) Difficulty.HARD.ordinal());
+        buffer.put((byte) -1);
+
+        // a submarine at 3/4 for PLAYER_ONE and a horizontal destroyer at 9/10 for PLAYER_TWO
+        buffer.put((byte) 1);
+        buffer.putInt(ShipType.SUBMARINE.ordinal() << 24 | Orientation.HORIZONTAL.ordinal() << 16 | 2 << 8 | 3);
+        buffer.put((byte) 1);
+        buffer.putInt(ShipType.DESTROYER.ordinal() << 24 | Orientation.HORIZONTAL.ordinal() << 16 | 8 << 8 | 9);
+
+        // PLAYER_ONE misses at 1/1, PLAYER_TWO hits at 3/4
+        buffer.putInt(2);
+        buffer.putShort((short) 0);
+        buffer.putShort((short) (1 << 15 | 1 << 14 | 2 << 7 | 3));
+
+        final Game game = GameCodec.decode(7L, ByteBuffer.wrap(buffer.array()));
+
+        assertThat(game.getDifficulty()).isEqualTo(Difficulty.HARD);
+        assertThat(game.getWinner()).isNull();
+        assertThat(game.getRules()).isEqualTo(new Rules());
+        assertThat(game.getFieldPlayerOne().getShips()).singleElement().satisfies(ship -> {
+            assertThat(ship.getShipType()).isEqualTo(ShipType.SUBMARINE);
+            assertThat(ship.getCoordinates()).isEqualTo(Coordinates.of(3, 4));
+            assertThat(ship.getIsDestroyed()).isFalse();
+        });
+        assertThat(game.getFieldPlayerTwo().getShips()).singleElement().satisfies(ship -> {
+            assertThat(ship.getShipType()).isEqualTo(ShipType.DESTROYER);
+            assertThat(ship.getCoordinates()).isEqualTo(Coordinates.of(9, 10));
+        });
+        assertThat(game.getTurns()).extracting(Turn::getPlayer).containsExactly(Player.PLAYER_ONE, Player.PLAYER_TWO);
+        assertThat(game.getTurns()).extracting(Turn::getHit).containsExactly(false, true);
+
+        final Ship submarine = game.getFieldPlayerOne().getShips().iterator().next();
+        final byte[] appended = GameCodec.append(buffer.array(), List.of(), List.of(ShipSunk.of(Player.PLAYER_ONE, submarine)), Player.PLAYER_TWO);
+        final Game finished = GameCodec.decode(7L, ByteBuffer.wrap(appended));
+
+        assertThat(appended[0]).isEqualTo((byte) 1);
+        assertThat(finished.getWinner()).isEqualTo(Player.PLAYER_TWO);
+        assertThat(finished.getFieldPlayerOne().getShips()).singleElement().satisfies(ship -> assertThat(ship.getIsDestroyed()).isTrue());
+        assertThat(finished.getTurns()).hasSize(2);
+    }
+
+
+    private Game runningGame() {
+        final Game game = new Game();
+        game.setDifficulty(Difficulty.MEDIUM);
+        game.getRules().setWidth(12);
+        game.getRules().setHeight(8);
+
+        // insertion ordered, so the fleets are encoded in the same order every time
+        game.getFieldPlayerOne().setShips(new LinkedHashSet<>(List.of(
+                new Ship(null, Orientation.HORIZONTAL, ShipType.BATTLESHIP, Coordinates.of(1, 1), false),
+                new Ship(null, Orientation.VERTICAL, ShipType.SUBMARINE, Coordinates.of(12, 8), false)
+        )));
+        game.getFieldPlayerTwo().setShips(new LinkedHashSet<>(List.of(
+                new Ship(null, Orientation.VERTICAL, ShipType.DESTROYER, Coordinates.of(12, 5), false)
+        )));
+        game.setTurns(new ArrayList<>());
+        playTurn(game, Player.PLAYER_ONE, Coordinates.of(4, 4), false);
+        playTurn(game, Player.PLAYER_TWO, Coordinates.of(1, 1), true);
+        return game;
+    }
+
+
+    private Turn playTurn(Game game, Player player, Coordinates coordinates, boolean hit) {
+        final Turn turn = new Turn(null, game.getTurns().size() + 1, player, coordinates, hit, game);
+        game.getTurns().add(turn);
+        return turn;
+    }
+
+}
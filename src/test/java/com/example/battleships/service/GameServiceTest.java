@@ -0,0 +1,57 @@
+package com.example.battleships.service;
+
+import com.example.battleships.entity.Coordinates;
+import com.example.battleships.entity.Game;
+import com.example.battleships.repository.GameRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:game-service;DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.database=h2",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "battleship.schema-migration.enabled=false",
+                // writes every shot before answering, so a conflict would fail the shot instead of the next flush
+                "battleship.cache.write-behind=false",
+                "battleship.fleet-pool.size=0"
+        }
+)
+class GameServiceTest {
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private FleetPoolService fleetPoolService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+
+    @Test
+    void shootsAtGamesStoredWithoutVersion() {
+        final Game game = new Game();
+        game.getFieldPlayerOne().setShips(fleetPoolService.takeFleet(game.getRules()));
+        game.getFieldPlayerTwo().setShips(fleetPoolService.takeFleet(game.getRules()));
+
+        // stored past the game cache like a game which was stored before games got versioned
+        final Long ID = gameRepository.save(game).getId();
+        jdbcTemplate.update("UPDATE \"game\" SET \"version\" = NULL WHERE \"id\" = ?", ID);
+
+        assertThat(gameService.shoot(ID, Coordinates.of(1, 1))).isNotNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT \"version\" FROM \"game\" WHERE \"id\" = ?", Long.class, ID)).isEqualTo(1L);
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.example.battleships.service;
+
+import com.example.battleships.dto.FleetValidationDto;
+import com.example.battleships.entity.Coordinates;
+import com.example.battleships.entity.Rules;
+import com.example.battleships.entity.Ship;
+import com.example.battleships.enumeration.FleetViolation;
+import com.example.battleships.enumeration.Orientation;
+import com.example.battleships.enumeration.ShipType;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValidationServiceTest {
+
+    private final ValidationService validationService = new ValidationService();
+
+    private final Rules rules = new Rules();
+
+
+    @Test
+    void classicFleetIsValid() {
+        assertThat(validationService.validateFleet(classicFleet(), rules)).isSameAs(FleetValidationDto.VALID);
+    }
+
+
+    @Test
+    void additionalShipIsTooMany() {
+        final Set<Ship> fleet = classicFleet();
+        final Ship submarine = ship(ShipType.SUBMARINE, Orientation.HORIZONTAL, 10, 10);
+        fleet.add(submarine);
+
+        final FleetValidationDto fleetValidation = validationService.validateFleet(fleet, rules);
+
+        assertThat(fleetValidation.getViolation()).isEqualTo(FleetViolation.TOO_MANY_SHIPS);
+        assertThat(fleetValidation.getShipType()).isEqualTo(ShipType.SUBMARINE);
+    }
+
+
+    @Test
+    void missingShipIsTooFew() {
+        final Set<Ship> fleet = classicFleet();
+        fleet.removeIf(ship -> ship.getShipType().equals(ShipType.AIRCRAFT_CARRIER));
+
+        final FleetValidationDto fleetValidation = validationService.validateFleet(fleet, rules);
+
+        assertThat(fleetValidation.getViolation()).isEqualTo(FleetViolation.TOO_FEW_SHIPS);
+        assertThat(fleetValidation.getShipType()).isEqualTo(ShipType.AIRCRAFT_CARRIER);
+        assertThat(fleetValidation.getShip()).isNull();
+    }
+
+
+    @Test
+    void shipReachingOverTheEdgeIsOffTheField() {
+        final Set<Ship> fleet = classicFleet();
+        fleet.removeIf(ship -> ship.getShipType().equals(ShipType.AIRCRAFT_CARRIER));
+        final Ship carrier = ship(ShipType.AIRCRAFT_CARRIER, Orientation.VERTICAL, 10, 8);
+        fleet.add(carrier);
+
+        final FleetValidationDto fleetValidation = validationService.validateFleet(fleet, rules);
+
+        assertThat(fleetValidation.getViolation()).isEqualTo(FleetViolation.OFF_THE_FIELD);
+        assertThat(fleetValidation.getShip()).isSameAs(carrier);
+    }
+
+
+    @Test
+    void touchingShipsHaveNotEnoughClearance() {
+        final Set<Ship> fleet = classicFleet();
+        fleet.removeIf(ship -> ship.getShipType().equals(ShipType.AIRCRAFT_CARRIER));
+
+        // diagonally next to the battleship at 1/3
+        fleet.add(ship(ShipType.AIRCRAFT_CARRIER, Orientation.HORIZONTAL, 4, 2));
+
+        final FleetValidationDto fleetValidation = validationService.validateFleet(fleet, rules);
+
+        assertThat(fleetValidation.getViolation()).isEqualTo(FleetViolation.NOT_ENOUGH_CLEARANCE);
+        assertThat(fleetValidation.getShip()).isNotNull();
+    }
+
+
+    private static Set<Ship> classicFleet() {
+        return new HashSet<>(Set.of(
+                ship(ShipType.AIRCRAFT_CARRIER, Orientation.HORIZONTAL, 1, 1),
+                ship(ShipType.BATTLESHIP, Orientation.HORIZONTAL, 1, 3),
+                ship(ShipType.BATTLESHIP, Orientation.HORIZONTAL, 6, 3),
+                ship(ShipType.DESTROYER, Orientation.HORIZONTAL, 1, 5),
+                ship(ShipType.DESTROYER, Orientation.HORIZONTAL, 5, 5),
+                ship(ShipType.DESTROYER, Orientation.HORIZONTAL, 1, 7),
+                ship(ShipType.SUBMARINE, Orientation.HORIZONTAL, 5, 7),
+                ship(ShipType.SUBMARINE, Orientation.HORIZONTAL, 8, 7),
+                ship(ShipType.SUBMARINE, Orientation.HORIZONTAL, 1, 9),
+                ship(ShipType.SUBMARINE, Orientation.HORIZONTAL, 4, 9)
+        ));
+    }
+
+
+    private static Ship ship(ShipType shipType, Orientation orientation, int x, int y) {
+        return new Ship(null, orientation, shipType, Coordinates.of(x, y), false);
+    }
+
+}
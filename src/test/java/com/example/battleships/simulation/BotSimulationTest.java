@@ -0,0 +1,42 @@
+package com.example.battleships.simulation;
+
+import com.example.battleships.enumeration.Difficulty;
+import com.example.battleships.metrics.GameMetrics;
+import com.example.battleships.service.KIService;
+import com.example.battleships.service.ShotIndexService;
+import com.example.battleships.service.TurnService;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BotSimulationTest {
+
+    private final ShotIndexService shotIndexService = new ShotIndexService();
+
+    private final GameMetrics gameMetrics = GameMetrics.noop();
+
+    private final KIService kiService = new KIService(shotIndexService, gameMetrics);
+
+    private final BotSimulation simulation = new BotSimulation(kiService, new TurnService(shotIndexService, kiService, gameMetrics), 2);
+
+
+    @Test
+    void everyGameHasExactlyOneWinner() {
+        final SimulationReport report = simulation.run(List.of(Difficulty.UNBEATABLE, Difficulty.STRATEGIST), 1000);
+
+        final DifficultyStatistics unbeatable = report.getStatistics().get(Difficulty.UNBEATABLE);
+        final DifficultyStatistics strategist = report.getStatistics().get(Difficulty.STRATEGIST);
+
+        // every matchup is played equally often and mirror matchups count for both sides
+        assertThat(unbeatable.getGames()).isEqualTo(1000);
+        assertThat(strategist.getGames()).isEqualTo(1000);
+        assertThat(unbeatable.getWins() + strategist.getWins()).isEqualTo(1000);
+
+        // UNBEATABLE never misses - it always needs exactly as many shots as the fleet has cells
+        assertThat(unbeatable.getHitRate()).isEqualTo(1.0);
+        assertThat(unbeatable.getShotsToWin().getMaximum()).isEqualTo(20);
+    }
+
+}